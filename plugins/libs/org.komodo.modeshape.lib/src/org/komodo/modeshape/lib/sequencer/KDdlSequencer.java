@@ -31,6 +31,7 @@ import javax.jcr.NodeIterator;
 import javax.jcr.Property;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
+import org.modeshape.common.logging.Logger;
 import org.modeshape.jcr.api.nodetype.NodeTypeManager;
 import org.modeshape.sequencer.ddl.DdlParser;
 import org.modeshape.sequencer.ddl.DdlSequencer;
@@ -44,7 +45,7 @@ import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlParser;
  */
 public class KDdlSequencer extends DdlSequencer {
 
-    private final DdlParser teiidParser = new TeiidDdlParser();
+    private static final Logger LOGGER = Logger.getLogger(KDdlSequencer.class);
 
     @Override
     public void initialize( NamespaceRegistry registry, NodeTypeManager nodeTypeManager ) throws RepositoryException, IOException {
@@ -54,23 +55,41 @@ public class KDdlSequencer extends DdlSequencer {
 
     @Override
     protected List<DdlParser> getParserList() {
-        return Collections.singletonList(teiidParser);
+        // parsers hold the state of a parse so each job needs its own in order for jobs to run concurrently
+        return Collections.<DdlParser>singletonList(new TeiidDdlParser());
     }
 
     @Override
     public boolean execute(Property inputProperty, Node outputNode, Context context) throws Exception {
+        final long start = System.currentTimeMillis();
+
+        try {
+            return sequence(inputProperty, outputNode, context);
+        } finally {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("KDdlSequencer: sequenced {0} in {1} ms", inputProperty.getPath(), (System.currentTimeMillis() - start)); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /*
+     * Failures are thrown rather than returning false because a sequencer that returns false fires no sequencing event,
+     * leaving anyone waiting on the job without an outcome
+     */
+    private boolean sequence(Property inputProperty, Node outputNode, Context context) throws Exception {
         if (! super.execute(inputProperty, outputNode, context))
-            return false;
+            throw new RepositoryException("The DDL of " + inputProperty.getPath() + " could not be sequenced"); //$NON-NLS-1$ //$NON-NLS-2$
 
+        // no statements so nothing to move
         if (! outputNode.hasNode(StandardDdlLexicon.STATEMENTS_CONTAINER))
-            return false;
+            return true;
 
         Node ddlStmtsNode = outputNode.getNode(StandardDdlLexicon.STATEMENTS_CONTAINER);
         NodeIterator children = ddlStmtsNode.getNodes();
 
         Session session = ddlStmtsNode.getSession();
         if (! session.isLive())
-            return false;
+            throw new RepositoryException("The session sequencing " + inputProperty.getPath() + " has been closed"); //$NON-NLS-1$ //$NON-NLS-2$
 
         while (children.hasNext()) {
             Node child = children.nextNode();
@@ -0,0 +1,374 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.jcr.observation.EventIterator;
+import javax.jcr.observation.EventListener;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+import org.modeshape.jcr.api.observation.Event;
+
+/**
+ * A least-recently-used cache of exported text, such as DDL and VDB manifests, keyed by the path of the exported object and an
+ * export key. The cache is bounded by the total size of the cached text.
+ * <p>
+ * The cache listens to the repository's change events and drops the exports of objects whose subtree has changed. Because events
+ * are delivered after a save completes, the cache is bypassed while a committed save's events have not been received. Exports
+ * computed while a change to their subtree was being made are not cached.
+ */
+public class ExportCache implements EventListener, StringConstants {
+
+    /**
+     * The event types the cache must be registered for.
+     */
+    public static final int EVENT_TYPES = Event.NODE_ADDED | Event.NODE_REMOVED | Event.NODE_MOVED | Event.PROPERTY_ADDED
+                                          | Event.PROPERTY_CHANGED | Event.PROPERTY_REMOVED;
+
+    /**
+     * The system property that can be used to set the maximum size, in bytes, of the cached exports.
+     */
+    public static final String MAX_SIZE_PROPERTY = "komodo.exportCacheSize"; //$NON-NLS-1$
+
+    /**
+     * The default maximum size, in bytes, of the cached exports. Value is {@value} .
+     */
+    public static final long DEFAULT_MAX_SIZE = 256 * 1024 * 1024;
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The number of recent invalidations kept for checking exports being added.
+     */
+    private static final int INVALIDATION_HISTORY = 10000;
+
+    /**
+     * Saves whose events have not been received within this time are assumed to have produced none.
+     */
+    private static final long SAVE_EVENTS_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    private static final String SOURCE_PATH = "srcAbsPath"; //$NON-NLS-1$
+
+    /**
+     * @param exportType
+     *        the type of export (cannot be empty)
+     * @param properties
+     *        the export properties (can be <code>null</code> or empty)
+     * @return the export key (never empty)
+     */
+    public static String key( final String exportType,
+                              final Properties properties ) {
+        ArgCheck.isNotEmpty(exportType, "exportType"); //$NON-NLS-1$
+
+        if ((properties == null) || properties.isEmpty()) {
+            return exportType;
+        }
+
+        return exportType + new TreeMap< Object, Object >(properties).toString();
+    }
+
+    private static boolean related( final String path,
+                                    final String otherPath ) {
+        if (FORWARD_SLASH.equals(path) || FORWARD_SLASH.equals(otherPath) || path.equals(otherPath)) {
+            return true;
+        }
+
+        return path.startsWith(otherPath + FORWARD_SLASH) || otherPath.startsWith(path + FORWARD_SLASH);
+    }
+
+    private final long maxSize;
+
+    /**
+     * Cached exports keyed by object path then export key, in least-recently-used order of object path. Guarded by this cache.
+     */
+    private final LinkedHashMap< String, Map< String, String >> exports = new LinkedHashMap< String, Map< String, String >>(16,
+                                                                                                                         0.75f,
+                                                                                                                         true);
+
+    /**
+     * Paths invalidated recently, newest last, and the stamp of each invalidation. Guarded by this cache.
+     */
+    private final Deque< Object[] > invalidations = new ArrayDeque< Object[] >();
+
+    /**
+     * Identifiers of saves whose events have not been received and the time of each save. Guarded by this cache.
+     */
+    private final Map< String, Long > unobservedSaves = new HashMap< String, Long >();
+
+    private long size = 0;
+    private long stamp = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Constructs a cache whose maximum size is taken from the {@link #MAX_SIZE_PROPERTY system property} or is the
+     * {@link #DEFAULT_MAX_SIZE default}.
+     */
+    public ExportCache() {
+        this(Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * @param maxSize
+     *        the maximum size, in bytes, of the cached exports (cannot be negative)
+     */
+    public ExportCache( final long maxSize ) {
+        ArgCheck.isTrue(maxSize >= 0, "maxSize is negative"); //$NON-NLS-1$
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Removes all cached exports.
+     */
+    public synchronized void clear() {
+        this.exports.clear();
+        this.unobservedSaves.clear();
+        this.size = 0;
+        invalidated(FORWARD_SLASH);
+    }
+
+    private boolean observed() {
+        if (this.unobservedSaves.isEmpty()) {
+            return true;
+        }
+
+        final long expired = System.currentTimeMillis() - SAVE_EVENTS_TIMEOUT;
+
+        for (final Iterator< Long > itr = this.unobservedSaves.values().iterator(); itr.hasNext();) {
+            if (itr.next() < expired) {
+                itr.remove();
+            }
+        }
+
+        return this.unobservedSaves.isEmpty();
+    }
+
+    /**
+     * @param path
+     *        the path of the exported object (cannot be empty)
+     * @param key
+     *        the export key (cannot be empty)
+     * @return the cached export or <code>null</code> if not found
+     * @see #key(String, Properties)
+     */
+    public synchronized String get( final String path,
+                                    final String key ) {
+        final Map< String, String > pathExports = observed() ? this.exports.get(path) : null;
+        final String export = (pathExports == null) ? null : pathExports.get(key);
+
+        if (export == null) {
+            ++this.misses;
+        } else {
+            ++this.hits;
+        }
+
+        return export;
+    }
+
+    /**
+     * @return the number of times a cached export was found
+     */
+    public synchronized long getHitCount() {
+        return this.hits;
+    }
+
+    /**
+     * @return the number of times a cached export was not found
+     */
+    public synchronized long getMissCount() {
+        return this.misses;
+    }
+
+    /**
+     * @return the total size, in bytes, of the cached exports
+     */
+    public synchronized long getSize() {
+        return this.size;
+    }
+
+    private void invalidated( final String path ) {
+        this.invalidations.addLast(new Object[] { ++this.stamp, path });
+
+        if (this.invalidations.size() > INVALIDATION_HISTORY) {
+            this.invalidations.removeFirst();
+        }
+    }
+
+    private void invalidate( final String path ) {
+        for (final Iterator< Entry< String, Map< String, String >>> itr = this.exports.entrySet().iterator(); itr.hasNext();) {
+            final Entry< String, Map< String, String >> entry = itr.next();
+
+            if (related(path, entry.getKey())) {
+                for (final String export : entry.getValue().values()) {
+                    this.size -= sizeOf(export);
+                }
+
+                itr.remove();
+            }
+        }
+
+        invalidated(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see javax.jcr.observation.EventListener#onEvent(javax.jcr.observation.EventIterator)
+     */
+    @Override
+    public synchronized void onEvent( final EventIterator events ) {
+        while (events.hasNext()) {
+            try {
+                final Event event = (Event)events.nextEvent();
+                final int type = event.getType();
+                String path = event.getPath();
+
+                if ((type == Event.PROPERTY_ADDED) || (type == Event.PROPERTY_CHANGED) || (type == Event.PROPERTY_REMOVED)) {
+                    path = path.substring(0, Math.max(1, path.lastIndexOf(FORWARD_SLASH)));
+                } else if (type == Event.NODE_MOVED) {
+                    final Object sourcePath = event.getInfo().get(SOURCE_PATH);
+
+                    if (sourcePath != null) {
+                        invalidate(sourcePath.toString());
+                    }
+                }
+
+                invalidate(path);
+
+                if (event.getUserData() != null) {
+                    this.unobservedSaves.remove(event.getUserData());
+                }
+            } catch (final Exception e) {
+                LOGGER.error("ExportCache: error processing event: {0}", e, e.getLocalizedMessage()); //$NON-NLS-1$
+                invalidate(FORWARD_SLASH);
+            }
+        }
+    }
+
+    /**
+     * Adds an export to the cache unless the object's subtree was changed after the export began.
+     *
+     * @param path
+     *        the path of the exported object (cannot be empty)
+     * @param key
+     *        the export key (cannot be empty)
+     * @param exportStamp
+     *        the {@link #stamp() stamp} obtained before the export began
+     * @param export
+     *        the export (cannot be <code>null</code>)
+     */
+    public synchronized void put( final String path,
+                                  final String key,
+                                  final long exportStamp,
+                                  final String export ) {
+        final long exportSize = sizeOf(export);
+
+        if ((exportSize > this.maxSize) || !observed()) {
+            return;
+        }
+
+        // the invalidations made since the export began must be known and not affect the export
+        if (exportStamp < this.stamp) {
+            final Object[] oldest = this.invalidations.peekFirst();
+
+            if ((oldest == null) || ((Long)oldest[0] > (exportStamp + 1))) {
+                return;
+            }
+
+            for (final Iterator< Object[] > itr = this.invalidations.descendingIterator(); itr.hasNext();) {
+                final Object[] invalidation = itr.next();
+
+                if ((Long)invalidation[0] <= exportStamp) {
+                    break;
+                }
+
+                if (related(path, (String)invalidation[1])) {
+                    return;
+                }
+            }
+        }
+
+        Map< String, String > pathExports = this.exports.get(path);
+
+        if (pathExports == null) {
+            pathExports = new HashMap< String, String >();
+            this.exports.put(path, pathExports);
+        }
+
+        final String previous = pathExports.put(key, export);
+        this.size += exportSize - ((previous == null) ? 0 : sizeOf(previous));
+
+        // evict least recently used
+        for (final Iterator< Map< String, String >> itr = this.exports.values().iterator(); itr.hasNext()
+                                                                                          && (this.size > this.maxSize);) {
+            for (final String evicted : itr.next().values()) {
+                this.size -= sizeOf(evicted);
+            }
+
+            itr.remove();
+        }
+    }
+
+    /**
+     * Records that a save has been made whose events have not yet been received. The identifier must be set as the observation
+     * user data of the saving session.
+     *
+     * @param saveId
+     *        the save identifier (cannot be empty)
+     */
+    public synchronized void saving( final String saveId ) {
+        ArgCheck.isNotEmpty(saveId, "saveId"); //$NON-NLS-1$
+        this.unobservedSaves.put(saveId, System.currentTimeMillis());
+    }
+
+    /**
+     * Records that a save has failed so no events will be received for it.
+     *
+     * @param saveId
+     *        the save identifier (cannot be empty)
+     */
+    public synchronized void saveFailed( final String saveId ) {
+        this.unobservedSaves.remove(saveId);
+    }
+
+    private static long sizeOf( final String export ) {
+        return export.length() * 2L;
+    }
+
+    /**
+     * @return the stamp that must be passed to {@link #put(String, String, long, String)} when the export is added
+     */
+    public synchronized long stamp() {
+        return this.stamp;
+    }
+
+}
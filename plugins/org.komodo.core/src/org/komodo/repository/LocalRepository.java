@@ -22,6 +22,10 @@
 package org.komodo.repository;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.WeakHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -32,6 +36,7 @@ import org.komodo.repository.internal.ModeshapeEngineThread;
 import org.komodo.repository.internal.ModeshapeEngineThread.Request;
 import org.komodo.repository.internal.ModeshapeEngineThread.RequestCallback;
 import org.komodo.repository.internal.ModeshapeEngineThread.RequestType;
+import org.komodo.repository.internal.ReadOnlySessionPool;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.RepositoryClientEvent;
 import org.komodo.utils.ArgCheck;
@@ -120,12 +125,14 @@ public class LocalRepository extends RepositoryImpl {
         }
     }
 
-    private WeakHashMap< Session, UnitOfWork > sessions = new WeakHashMap<>();
+    private final Map< Session, UnitOfWork > sessions = Collections.synchronizedMap(new WeakHashMap< Session, UnitOfWork >());
 
     private State state = State.NOT_REACHABLE;
 
     private ModeshapeEngineThread engineThread;
 
+    private ReadOnlySessionPool sessionPool;
+
     /**
      * Create an instance if a local repository using the specified configuration file.
      *
@@ -174,6 +181,17 @@ public class LocalRepository extends RepositoryImpl {
         return getId().equals(that.getId());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.RepositoryImpl#getExportCache()
+     */
+    @Override
+    public ExportCache getExportCache() {
+        final ModeshapeEngineThread thread = this.engineThread;
+        return (thread == null) ? null : thread.getExportCache();
+    }
+
     @Override
     public State getState() {
         return state;
@@ -194,7 +212,18 @@ public class LocalRepository extends RepositoryImpl {
         return ((this.engineThread != null) && ((this.engineThread.isAlive())) && this.engineThread.isRunning());
     }
 
-    private Session createSession() throws KException {
+    private Session createSession( final boolean rollbackOnly ) throws KException {
+        if (rollbackOnly) {
+            // read-only sessions do not need to wait behind commits on the engine thread
+            try {
+                return this.sessionPool.borrow();
+            } catch (final KException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new KException(Messages.getString(Messages.LocalRepository.Unable_To_Create_Session), e);
+            }
+        }
+
         final CountDownLatch latch = new CountDownLatch(1);
 
         class CreateSessionCallback implements RequestCallback {
@@ -257,7 +286,7 @@ public class LocalRepository extends RepositoryImpl {
                                          final UnitOfWorkListener callback ) throws KException {
         ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
         LOGGER.debug("creating transaction {0} with rollbackOnly = {1}", name, rollbackOnly); //$NON-NLS-1$
-        final Session session = createSession();
+        final Session session = createSession(rollbackOnly);
         final UnitOfWork uow = new LocalRepositoryTransaction(name, session, rollbackOnly, callback);
         this.sessions.put(session, uow);
         return uow;
@@ -317,6 +346,19 @@ public class LocalRepository extends RepositoryImpl {
                         @Override
                         public void respond( final Object results ) {
                             setState( State.COMMITTED );
+                            notifyChangeObservers();
+
+                            // sequencer output is saved after the commit so tell the observers again once it is there
+                            if (!LocalRepositoryTransaction.this.sequencingFuture.isDone()) {
+                                LocalRepositoryTransaction.this.sequencingFuture.whenDone( new Runnable() {
+
+                                    @Override
+                                    public void run() {
+                                        notifyChangeObservers();
+                                    }
+
+                                } );
+                            }
 
                             if (getCallback() != null) {
                                 getCallback().respond( null );
@@ -326,11 +368,13 @@ public class LocalRepository extends RepositoryImpl {
                     }
 
                     // send commit request
+                    clearNodeCache();
                     final CommitCallback callback = new CommitCallback();
                     LocalRepository.this.engineThread.accept( new ModeshapeEngineThread.SessionRequest( RequestType.COMMIT_SESSION,
                                                                                                         callback,
                                                                                                         getSession(),
-                                                                                                        getName() ) );
+                                                                                                        getName(),
+                                                                                                        this.sequencingFuture ) );
                 }
             }
         }
@@ -349,6 +393,9 @@ public class LocalRepository extends RepositoryImpl {
                 this.state = State.ERROR;
             } else {
                 this.state = State.RUNNING;
+
+                // nothing will be saved so nothing will be sequenced
+                this.sequencingFuture.complete();
             }
 
             // engine thread callback that communicates with transaction callback
@@ -386,12 +433,30 @@ public class LocalRepository extends RepositoryImpl {
 
             }
 
-            // send rollback request
+            // rollbacks do not need to be serialized with commits so do it on this thread
+            clearNodeCache();
             final RollbackCallback callback = new RollbackCallback();
-            LocalRepository.this.engineThread.accept(new ModeshapeEngineThread.SessionRequest(RequestType.ROLLBACK_SESSION,
-                                                                                              callback,
-                                                                                              getSession(),
-                                                                                              getName()));
+
+            if (isRollbackOnly()) {
+                final Session pooledSession = getSession();
+
+                // session has already been returned to the pool
+                if (pooledSession == null) {
+                    return;
+                }
+
+                // refresh and return the session to the pool instead of logging out
+                this.session = null;
+                LocalRepository.this.sessions.remove(pooledSession);
+                LocalRepository.this.sessionPool.release(pooledSession);
+                callback.respond(null);
+                return;
+            }
+
+            LocalRepository.this.engineThread.rollback(new ModeshapeEngineThread.SessionRequest(RequestType.ROLLBACK_SESSION,
+                                                                                                callback,
+                                                                                                getSession(),
+                                                                                                getName()));
         }
 
         protected void setError( final Throwable e ) {
@@ -417,9 +482,26 @@ public class LocalRepository extends RepositoryImpl {
                                                                                         Messages.getString(Messages.LocalRepository.EngineThread_Died));
 
         engineThread = new ModeshapeEngineThread(getId().getConfiguration(), getId().getWorkspaceName());
+        sessionPool = new ReadOnlySessionPool(engineThread,
+                                              Integer.getInteger(ReadOnlySessionPool.MAX_IDLE_PROPERTY,
+                                                                 ReadOnlySessionPool.DEFAULT_MAX_IDLE));
         engineThread.start();
     }
 
+    /**
+     * @return the number of read-only sessions, both idle and in use, currently held open by the session pool
+     */
+    public int getReadOnlySessionCount() {
+        return ((this.sessionPool == null) ? 0 : this.sessionPool.getSize());
+    }
+
+    /**
+     * @return the number of read-only sessions currently sitting idle in the session pool
+     */
+    public int getIdleReadOnlySessionCount() {
+        return ((this.sessionPool == null) ? 0 : this.sessionPool.getIdleCount());
+    }
+
     private void startRepository() {
         if (this.state == State.REACHABLE) return;
 
@@ -471,16 +553,26 @@ public class LocalRepository extends RepositoryImpl {
             }
         };
 
+        // no more sessions should be pooled
+        this.sessionPool.close();
+
         // check session cache
-        if (!this.sessions.isEmpty()) {
-            for (final Entry< Session, UnitOfWork > entry : this.sessions.entrySet()) {
-                final Session session = entry.getKey();
+        final List< Entry< Session, UnitOfWork > > entries;
+
+        synchronized (this.sessions) {
+            entries = new ArrayList< Entry< Session, UnitOfWork > >(this.sessions.entrySet());
+        }
+
+        for (final Entry< Session, UnitOfWork > entry : entries) {
+            final Session session = entry.getKey();
+
+            // rollback and close all leftover sessions (there should not be any)
+            if ((session != null) && session.isLive()) {
+                final UnitOfWork uow = entry.getValue();
+                LOGGER.debug("LocalRepository.stopRepository: closing session for transaction {0}", uow.getName()); //$NON-NLS-1$
+                uow.rollback();
 
-                // rollback and close all leftover sessions (there should not be any)
                 if (session.isLive()) {
-                    final UnitOfWork uow = entry.getValue();
-                    LOGGER.debug("LocalRepository.stopRepository: closing session for transaction {0}", uow.getName()); //$NON-NLS-1$
-                    uow.rollback();
                     session.logout();
                 }
             }
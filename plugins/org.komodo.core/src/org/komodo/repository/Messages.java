@@ -49,6 +49,7 @@ public class Messages implements StringConstants {
         Repository_Not_Running,
         EngineThread_Died,
         Rollback_Timeout,
+        Sequencing_Timeout,
         Unable_To_Create_Session;
 
         @Override
@@ -10,7 +10,9 @@ package org.komodo.repository;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.jcr.Node;
@@ -26,7 +28,6 @@ import javax.jcr.nodetype.NodeType;
 import org.komodo.repository.KomodoTypeRegistry.TypeIdentifier;
 import org.komodo.repository.Messages.Komodo;
 import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
-import org.komodo.repository.search.ObjectSearcher;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.Descriptor;
@@ -57,6 +58,8 @@ public class ObjectImpl implements KomodoObject, StringConstants {
     
     private static final List<String> ignorableNamespaces = Arrays.asList(new String[]{"nt:", "mix:", "mode:", "jcr:"});  
 
+    private static final TypeResolutionCache< KomodoType > TYPE_CACHE = new TypeResolutionCache< KomodoType >();
+
     /**
      * Only one of the {@link UnitOfWork transactions} passed in should be non-<code>null</code>. Ensures that a transaction
      * rollback occurs if the transaction was constructed within the method.
@@ -215,6 +218,77 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         this.index = index;
     }
 
+    /**
+     * The node identifier and the names of its primary type and mixins are read directly from the node. The key changes when the
+     * node's mixins change.
+     *
+     * @param uow
+     *        the transaction (can be <code>null</code> if operation should be automatically committed)
+     * @return the key used to cache the results of resolving the type of this object (never empty)
+     * @throws KException
+     *         if an error occurs
+     * @see TypeResolutionCache
+     */
+    public String getTypeKey( final UnitOfWork uow ) throws KException {
+        UnitOfWork transaction = uow;
+
+        if (transaction == null) {
+            transaction = getRepository().createTransaction("kobject-getTypeKey", true, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        try {
+            final String result = TypeResolutionCache.key(node(transaction));
+
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
+    /**
+     * The names are read directly from the node rather than as {@link Descriptor descriptors}.
+     *
+     * @param uow
+     *        the transaction (can be <code>null</code> if operation should be automatically committed)
+     * @return the names of the primary type followed by the names of the mixins (never empty)
+     * @throws KException
+     *         if an error occurs
+     */
+    public String[] getTypeNames( final UnitOfWork uow ) throws KException {
+        UnitOfWork transaction = uow;
+
+        if (transaction == null) {
+            transaction = getRepository().createTransaction("kobject-getTypeNames", true, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        try {
+            final Node node = node(transaction);
+            final NodeType[] mixins = node.getMixinNodeTypes();
+            final String[] result = new String[mixins.length + 1];
+            result[0] = node.getPrimaryNodeType().getName();
+
+            for (int i = 0; i < mixins.length; ++i) {
+                result[i + 1] = mixins[i].getName();
+            }
+
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
     @Override
     public KomodoType getTypeIdentifier(UnitOfWork uow) throws KException {
         UnitOfWork transaction = uow;
@@ -225,6 +299,17 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         assert (transaction != null);
 
+        final String typeKey = getTypeKey(transaction);
+        KomodoType cached = TYPE_CACHE.get(typeKey);
+
+        if (cached != null) {
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return cached;
+        }
+
         List<Descriptor> descriptors = new ArrayList<Descriptor>();
         descriptors.add(getPrimaryType(transaction));
         descriptors.addAll(Arrays.asList(getDescriptors(transaction)));
@@ -251,6 +336,9 @@ public class ObjectImpl implements KomodoObject, StringConstants {
             result = KomodoType.UNKNOWN;
         } else if( identifiers.size() == 1 ) {
         	result = identifiers.iterator().next().getKomodoType();
+
+            // only results that depend on nothing but the node's types are cached
+            TYPE_CACHE.put(typeKey, result);
         } else {
             //
             // Only lexicon id with multiple identifiers is TABLE_ELEMENT
@@ -291,6 +379,23 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         return result;
     }
 
+    /**
+     * Adds the node to the node cache of the transaction. Nodes are only cached for caller-supplied transactions.
+     *
+     * @param uow
+     *        the transaction the node was resolved in (can be <code>null</code>)
+     * @param node
+     *        the node being cached (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an error occurs obtaining the node path
+     */
+    private void cacheNode( final UnitOfWork uow,
+                            final Node node ) throws Exception {
+        if (uow instanceof UnitOfWorkImpl) {
+            ((UnitOfWorkImpl)uow).cacheNode(node.getPath(), node);
+        }
+    }
+
     ObjectImpl accessOuter() {
         return this;
     }
@@ -330,6 +435,17 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         String absPath = getAbsolutePath();
         PathNotFoundException throwEx = null;
 
+        // only cache nodes for transactions that outlive this call
+        final UnitOfWorkImpl cachingTransaction = ((uow instanceof UnitOfWorkImpl) ? (UnitOfWorkImpl)uow : null);
+
+        if (cachingTransaction != null) {
+            node = cachingTransaction.getCachedNode(absPath);
+
+            if (node != null) {
+                return node;
+            }
+        }
+
         try {
 
             //
@@ -377,6 +493,10 @@ public class ObjectImpl implements KomodoObject, StringConstants {
                 throw throwEx;
             }
 
+            if (cachingTransaction != null) {
+                cachingTransaction.cacheNode(absPath, node);
+            }
+
             // return the found node
             return node;
         } catch (final Exception e) {
@@ -414,6 +534,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final Node node = node(transaction).addNode(name, type);
+            cacheNode(transaction, node);
             final KomodoObject result = new ObjectImpl(getRepository(), node.getPath(), node.getIndex());
 
             if (uow == null) {
@@ -451,7 +572,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         }
 
         try {
-            final Node node = getSession(transaction).getNode(this.path);
+            final Node node = node(transaction);
 
             for (final String mixin : descriptorNames) {
                 ArgCheck.isNotEmpty(mixin, "mixin"); //$NON-NLS-1$
@@ -560,6 +681,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         for (int i = 0; itr.hasNext(); ++i) {
             final Node child = itr.nextNode();
+            cacheNode(transaction, child);
             children[i] = new ObjectImpl(getRepository(), child.getPath(), child.getIndex() - 1);
         }
 
@@ -617,16 +739,28 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         assert (transaction != null);
 
         try {
-            final ObjectSearcher searcher = new ObjectSearcher(this.repository);
-            searcher.addFromType(type);
-            searcher.addWhereParentClause(null, null, getAbsolutePath());
-            final List< KomodoObject > result = searcher.searchObjects( transaction );
+            final List< KomodoObject > result = new ArrayList< KomodoObject >();
+
+            // iterate over the children directly instead of running a query as this is much faster and also sees transient nodes
+            for (final NodeIterator itr = node(transaction).getNodes(); itr.hasNext();) {
+                final Node child = itr.nextNode();
+
+                // checks primary type, mixins, and their supertypes
+                if (child.isNodeType(type)) {
+                    cacheNode(uow, child);
+                    result.add(new ObjectImpl(getRepository(), child.getPath(), child.getIndex() - 1));
+                }
+            }
 
             if (uow == null) {
                 transaction.commit();
             }
 
-            return result.toArray( new KomodoObject[result.size()] );
+            if (result.isEmpty()) {
+                return KomodoObject.EMPTY_ARRAY;
+            }
+
+            return result.toArray(new KomodoObject[result.size()]);
         } catch (final Exception e) {
             throw handleError(uow, transaction, e);
         }
@@ -907,6 +1041,79 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.KomodoObject#getPropertyValues(org.komodo.spi.repository.Repository.UnitOfWork)
+     */
+    @Override
+    public Map< String, Object > getPropertyValues( final UnitOfWork uow ) throws KException {
+        UnitOfWork transaction = uow;
+
+        if (transaction == null) {
+            transaction = getRepository().createTransaction("kobject-getPropertyValues", true, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        try {
+            final Map< String, Object > result = new LinkedHashMap< String, Object >();
+
+            for (final PropertyIterator iter = node(transaction).getProperties(); iter.hasNext();) {
+                final javax.jcr.Property property = iter.nextProperty();
+                result.put(property.getName(), PropertyImpl.convert(property));
+            }
+
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.KomodoObject#getPropertyValues(org.komodo.spi.repository.Repository.UnitOfWork,
+     *      java.lang.String[])
+     */
+    @Override
+    public Map< String, Object > getPropertyValues( final UnitOfWork uow,
+                                                    final String... names ) throws KException {
+        ArgCheck.isNotEmpty(names, "names"); //$NON-NLS-1$
+        UnitOfWork transaction = uow;
+
+        if (transaction == null) {
+            transaction = getRepository().createTransaction("kobject-getPropertyValues", true, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        try {
+            final Node node = node(transaction);
+            final Map< String, Object > result = new LinkedHashMap< String, Object >();
+
+            for (final String name : names) {
+                ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+
+                if (node.hasProperty(name)) {
+                    result.put(name, PropertyImpl.convert(node.getProperty(name)));
+                }
+            }
+
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -917,6 +1124,23 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         return this.repository;
     }
 
+    /**
+     * Exports are only cached when they reflect committed state.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @return the export cache or <code>null</code> if exports cannot be cached for the transaction
+     * @throws Exception
+     *         if an error occurs
+     */
+    protected ExportCache getExportCache( final UnitOfWork transaction ) throws Exception {
+        if (!(getRepository() instanceof RepositoryImpl) || getSession(transaction).hasPendingChanges()) {
+            return null;
+        }
+
+        return ((RepositoryImpl)getRepository()).getExportCache();
+    }
+
     protected Session getSession( final UnitOfWork transaction ) {
         return ((UnitOfWorkImpl)transaction).getSession();
     }
@@ -1124,6 +1348,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         try {
             final Node node = node( transaction );
             node.remove();
+            ((UnitOfWorkImpl)transaction).invalidateCachedNodes( getAbsolutePath() );
 
             if (uow == null) {
                 transaction.commit();
@@ -1162,7 +1387,10 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
             for (final String name : names) {
                 if (node.hasNode(name)) {
-                    node.getNode(name).remove();
+                    final Node child = node.getNode(name);
+                    final String childPath = child.getPath();
+                    child.remove();
+                    ((UnitOfWorkImpl)transaction).invalidateCachedNodes(childPath);
                 } else {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_REMOVE_CHILD, names, getAbsolutePath()));
                 }
@@ -1201,7 +1429,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         }
 
         try {
-            final Node node = getSession(transaction).getNode(this.path);
+            final Node node = node(transaction);
 
             for (final String mixin : descriptorNames) {
                 ArgCheck.isNotEmpty(mixin, "mixin"); //$NON-NLS-1$
@@ -1249,6 +1477,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
             newPath += newName;
             getSession( transaction ).move( getAbsolutePath(), newPath );
+            ((UnitOfWorkImpl)transaction).invalidateCachedNodes( getAbsolutePath() );
             this.path = newPath;
             // TODO seems like index could change also
 
@@ -1299,7 +1528,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final String type = (StringUtils.isBlank(typeName) ? JcrNtLexicon.UNSTRUCTURED.getString() : typeName);
-            getSession(transaction).getNode(this.path).setPrimaryType(type);
+            node(transaction).setPrimaryType(type);
 
             if (uow == null) {
                 transaction.commit();
@@ -1437,7 +1666,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final Session session = getSession(transaction);
-            final Node node = session.getNode(getAbsolutePath());
+            final Node node = node(transaction);
             setProperty(session, node, propertyName, values);
 
             if (uow == null) {
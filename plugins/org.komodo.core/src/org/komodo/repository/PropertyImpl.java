@@ -72,6 +72,40 @@ public class PropertyImpl implements Property {
         }
     }
 
+    /**
+     * @param property
+     *        the JCR property whose value(s) are being converted (cannot be <code>null</code>)
+     * @return the <code>Object</code> representation of a single-valued property or an <code>Object[]</code> of a multi-valued
+     *         property (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    public static Object convert( final javax.jcr.Property property ) throws KException {
+        try {
+            final int propType = property.getType();
+
+            if (property.isMultiple()) {
+                final Value[] values = property.getValues();
+                final Object[] result = new Object[values.length];
+                int i = 0;
+
+                for (final Value value : values) {
+                    result[i++] = convert(value, propType);
+                }
+
+                return result;
+            }
+
+            return convert(property.getValue(), propType);
+        } catch (final Exception e) {
+            if (e instanceof KException) {
+                throw (KException)e;
+            }
+
+            throw new KException(e);
+        }
+    }
+
     /**
      * @param factory
      *        the factory used to perform the conversion (cannot be <code>null</code>)
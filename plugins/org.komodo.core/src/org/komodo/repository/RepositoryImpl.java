@@ -12,9 +12,15 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Future;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.PropertyIterator;
@@ -29,6 +35,7 @@ import org.komodo.core.KomodoLexicon;
 import org.komodo.core.KomodoLexicon.Komodo;
 import org.komodo.core.KomodoLexicon.LibraryComponent;
 import org.komodo.core.KomodoLexicon.WorkspaceItem;
+import org.komodo.repository.internal.SequencingFuture;
 import org.komodo.repository.search.ObjectSearcher;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
@@ -39,6 +46,7 @@ import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.RepositoryClient;
 import org.komodo.spi.repository.RepositoryClientEvent;
+import org.komodo.spi.repository.RepositoryChangeObserver;
 import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
@@ -176,7 +184,9 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         protected final UnitOfWorkListener callback;
         protected KException error;
         protected final String name;
+        protected final Map< String, Node > nodeCache = new HashMap< String, Node >();
         protected final boolean rollbackOnly;
+        protected final SequencingFuture sequencingFuture = new SequencingFuture();
         protected Session session;
         protected State state = State.NOT_STARTED;
 
@@ -232,6 +242,9 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                             this.state = State.COMMITTED;
                             LOGGER.debug( "transaction {0} saved", getName() ); //$NON-NLS-1$
 
+                            // sequencing is not tracked
+                            this.sequencingFuture.complete();
+
                             if (this.callback != null) {
                                 this.callback.respond( this );
                             }
@@ -239,6 +252,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     } catch (final Exception e) {
                         this.state = State.ERROR;
                         this.error = new KException( e );
+                        this.sequencingFuture.fail( e );
 
                         if (this.callback == null) {
                             LOGGER.error( Messages.getString( Messages.Komodo.ERROR_TRYING_TO_COMMIT, e, getName() ) );
@@ -250,6 +264,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     } finally {
                         if (session.isLive()) this.session.logout();
                         this.session = null;
+                        clearNodeCache();
                     }
                 }
             }
@@ -285,6 +300,16 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return this.name;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#getSequencingFuture()
+         */
+        @Override
+        public Future< Void > getSequencingFuture() {
+            return this.sequencingFuture;
+        }
+
         /**
          * @return the JCR session used during the transaction (never <code>null</code>)
          */
@@ -292,6 +317,69 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return this.session;
         }
 
+        /**
+         * Caches a node resolved by this transaction's session so that subsequent lookups of the same path do not have to resolve
+         * the path again. The cache is discarded when the transaction is committed or rolled back.
+         *
+         * @param absPath
+         *        the absolute path used to resolve the node, which includes any same-name-sibling index (cannot be empty)
+         * @param node
+         *        the resolved node (cannot be <code>null</code>)
+         */
+        void cacheNode( final String absPath,
+                        final Node node ) {
+            if (this.state == State.NOT_STARTED) {
+                this.nodeCache.put(absPath, node);
+            }
+        }
+
+        /**
+         * Clears all cached nodes.
+         */
+        protected void clearNodeCache() {
+            this.nodeCache.clear();
+        }
+
+        /**
+         * @param absPath
+         *        the absolute path of the node being requested (cannot be empty)
+         * @return the cached node or <code>null</code> if not found in the cache
+         */
+        Node getCachedNode( final String absPath ) {
+            return this.nodeCache.get(absPath);
+        }
+
+        /**
+         * Removes the node at the specified path, its same-name siblings, and all of their descendants from the cache. Siblings are
+         * included because their indexes, and therefore their paths, can change when a node is moved or removed. Must be called
+         * whenever a node is moved or removed.
+         *
+         * @param absPath
+         *        the absolute path of the node whose cached entries are being removed (cannot be empty)
+         */
+        void invalidateCachedNodes( final String absPath ) {
+            if (this.nodeCache.isEmpty()) {
+                return;
+            }
+
+            String prefix = absPath;
+
+            // strip same-name-sibling index
+            if (prefix.endsWith(CLOSE_SQUARE_BRACKET)) {
+                final int index = prefix.lastIndexOf(OPEN_SQUARE_BRACKET);
+
+                if (index != -1) {
+                    prefix = prefix.substring(0, index);
+                }
+            }
+
+            for (final Iterator< String > itr = this.nodeCache.keySet().iterator(); itr.hasNext();) {
+                if (itr.next().startsWith(prefix)) {
+                    itr.remove();
+                }
+            }
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -353,6 +441,8 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                 } finally {
                     if (session.isLive()) this.session.logout();
                     this.session = null;
+                    clearNodeCache();
+                    this.sequencingFuture.complete();
                 }
             }
         }
@@ -381,9 +471,25 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     protected static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * The maximum number of parsed queries kept for each session.
+     */
+    private static final int MAX_PREPARED_QUERIES = 100;
+
+    /**
+     * Prefixes the statement of a prepared query whose offset and limit are set when it is executed.
+     */
+    private static final String PAGED_QUERY_KEY_PREFIX = "paged:"; //$NON-NLS-1$
+
     private final Set< RepositoryClient > clients = new HashSet< RepositoryClient >();
     private final Id id;
-    private final Set< RepositoryObserver > observers = new HashSet< RepositoryObserver >();
+
+    /**
+     * Parsed queries of each live session keyed by statement. Queries are bound to the session that created them. Guarded by
+     * itself.
+     */
+    private final Map< Session, Map< String, Query >> preparedQueries = new HashMap< Session, Map< String, Query >>();
+    private final Set< RepositoryObserver > observers = new CopyOnWriteArraySet< RepositoryObserver >();
     private final Type type;
 
     /**
@@ -547,13 +653,40 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     @Override
     public List<KomodoObject> query(UnitOfWork uow, String queryStatement) throws KException {
+        return query(uow, queryStatement, null, 0, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String, long,
+     *      long)
+     */
+    @Override
+    public List<KomodoObject> query(UnitOfWork uow, String queryStatement, long offset, long limit) throws KException {
+        return query(uow, queryStatement, null, offset, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String,
+     *      java.util.Map, long, long)
+     */
+    @Override
+    public List<KomodoObject> query(UnitOfWork uow, String queryStatement, Map<String, String> bindings, long offset, long limit)
+        throws KException {
+        ArgCheck.isTrue(offset >= 0, "offset is negative"); //$NON-NLS-1$
 
         UnitOfWork transaction = verifyTransaction(uow, "query", true); //$NON-NLS-1$
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("find: transaction = {0}, query = {1}", //$NON-NLS-1$
+            LOGGER.debug("find: transaction = {0}, query = {1}, bindings = {2}, offset = {3}, limit = {4}", //$NON-NLS-1$
                          transaction.getName(),
-                         queryStatement);
+                         queryStatement,
+                         bindings,
+                         offset,
+                         limit);
         }
 
         ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
@@ -563,11 +696,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         List<KomodoObject> results = new ArrayList<KomodoObject>();
 
         try {
-            QueryManager queryMgr = session.getWorkspace().getQueryManager();
-            Query query = queryMgr.createQuery(queryStatement, Query.JCR_SQL2);
-            QueryResult result = query.execute();
-
-            NodeIterator itr = result.getNodes();
+            NodeIterator itr = execute(session, queryStatement, bindings, offset, limit).getNodes();
             while (itr.hasNext()) {
                 Node node = itr.nextNode();
                 results.add(new ObjectImpl(this, node.getPath(), node.getIndex()));
@@ -592,10 +721,153 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         return results;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#queryIterator(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String)
+     */
+    @Override
+    public Iterator<KomodoObject> queryIterator(UnitOfWork uow, String queryStatement) throws KException {
+        ArgCheck.isNotNull(uow, "transaction"); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("find: transaction = {0}, query = {1}", //$NON-NLS-1$
+                         uow.getName(),
+                         queryStatement);
+        }
+
+        try {
+            final NodeIterator itr = execute(getSession(uow), queryStatement, null, 0, -1).getNodes();
+
+            // nodes are only read from the query results as the iterator advances
+            return new Iterator<KomodoObject>() {
+
+                @Override
+                public boolean hasNext() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public KomodoObject next() {
+                    final Node node = itr.nextNode();
+
+                    try {
+                        return new ObjectImpl(RepositoryImpl.this, node.getPath(), node.getIndex());
+                    } catch (final Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+            };
+        } catch (final Exception e) {
+            throw new KException(e);
+        }
+    }
+
+    private QueryResult execute(final Session session,
+                                final String queryStatement,
+                                final Map<String, String> bindings,
+                                final long offset,
+                                final long limit) throws Exception {
+        // a paged query always overrides any LIMIT and OFFSET in the statement so it is prepared separately
+        final boolean paged = ((offset > 0) || (limit >= 0));
+        Query query = prepare(session, queryStatement, paged);
+
+        if (bindings != null) {
+            ValueFactory factory = session.getValueFactory();
+
+            for (Map.Entry<String, String> binding : bindings.entrySet()) {
+                query.bindValue(binding.getKey(), factory.createValue(binding.getValue()));
+            }
+        }
+
+        if (paged) {
+            query.setOffset(offset);
+            query.setLimit((limit < 0) ? Integer.MAX_VALUE : limit);
+        }
+
+        return query.execute();
+    }
+
+    /**
+     * Parsing is skipped when the session has already parsed the statement. Statements with bind variables can be reused with
+     * different values.
+     *
+     * @param session
+     *        the session the query will be executed in (cannot be <code>null</code>)
+     * @param queryStatement
+     *        the JCR-SQL2 statement (cannot be empty)
+     * @param paged
+     *        <code>true</code> if the offset and limit of the query will be set
+     * @return the query (never <code>null</code>)
+     * @throws Exception
+     *         if the statement cannot be parsed
+     */
+    private Query prepare(final Session session,
+                          final String queryStatement,
+                          final boolean paged) throws Exception {
+        final String key = (paged ? PAGED_QUERY_KEY_PREFIX : EMPTY_STRING) + queryStatement;
+        Map<String, Query> queries;
+
+        synchronized (this.preparedQueries) {
+            queries = this.preparedQueries.get(session);
+
+            if (queries == null) {
+                // forget the queries of sessions that have been logged out
+                for (Iterator<Session> itr = this.preparedQueries.keySet().iterator(); itr.hasNext();) {
+                    if (!itr.next().isLive()) {
+                        itr.remove();
+                    }
+                }
+
+                queries = new LinkedHashMap<String, Query>(16, 0.75f, true) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, Query> eldest) {
+                        return (size() > MAX_PREPARED_QUERIES);
+                    }
+
+                };
+
+                this.preparedQueries.put(session, queries);
+            }
+
+            Query query = queries.get(key);
+
+            if (query != null) {
+                return query;
+            }
+        }
+
+        QueryManager queryMgr = session.getWorkspace().getQueryManager();
+        Query query = queryMgr.createQuery(queryStatement, Query.JCR_SQL2);
+
+        synchronized (this.preparedQueries) {
+            queries.put(key, query);
+        }
+
+        return query;
+    }
+
     @Override
     public List<KomodoObject> searchByKeyword( UnitOfWork uow, String type, String property,
                                                                              KeywordCriteria keywordCriteria,
                                                                              String... keywords) throws KException {
+        return searchByKeyword(uow, type, property, keywordCriteria, 0, -1, keywords);
+    }
+
+    @Override
+    public List<KomodoObject> searchByKeyword( UnitOfWork uow, String type, String property,
+                                               KeywordCriteria keywordCriteria, long offset, long limit,
+                                               String... keywords) throws KException {
 
         UnitOfWork transaction = verifyTransaction(uow, "seachByKeyword", true); //$NON-NLS-1$
         if (LOGGER.isDebugEnabled()) {
@@ -613,6 +885,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         String typeAlias = "k1"; // where clauses need an alias so assign one to the type //$NON-NLS-1$
         searcher.addFromType(type, typeAlias);
         searcher.addWhereContainsClause(null, typeAlias, property, keywordCriteria, keywords);
+        searcher.setOffset(offset).setLimit(limit);
         List<KomodoObject> searchObjects = searcher.searchObjects(transaction);
 
         return searchObjects;
@@ -620,6 +893,11 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     @Override
     public List<KomodoObject> searchByType( UnitOfWork uow, String... types) throws KException {
+        return searchByType(uow, 0, -1, types);
+    }
+
+    @Override
+    public List<KomodoObject> searchByType( UnitOfWork uow, long offset, long limit, String... types) throws KException {
         ArgCheck.isNotEmpty(types, "types"); //$NON-NLS-1$
 
         UnitOfWork transaction = verifyTransaction(uow, "searchByType", true); //$NON-NLS-1$
@@ -633,6 +911,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         for (String type : types) {
             searcher.addFromType(type);
         }
+        searcher.setOffset(offset).setLimit(limit);
 
         List<KomodoObject> searchObjects = searcher.searchObjects(transaction);
         return searchObjects;
@@ -640,6 +919,11 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     @Override
     public List<KomodoObject> searchByPath( UnitOfWork uow, String path) throws KException {
+        return searchByPath(uow, path, 0, -1);
+    }
+
+    @Override
+    public List<KomodoObject> searchByPath( UnitOfWork uow, String path, long offset, long limit) throws KException {
         ArgCheck.isNotEmpty(path, "path"); //$NON-NLS-1$
 
         UnitOfWork transaction = verifyTransaction(uow, "searchByPath", true); //$NON-NLS-1$
@@ -653,6 +937,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         String typeAlias = "k1"; // where clauses need an alias so assign one to the type //$NON-NLS-1$
         searcher.addFromType(JcrConstants.NT_UNSTRUCTURED, typeAlias);
         searcher.addWherePathClause(null, typeAlias, path);
+        searcher.setOffset(offset).setLimit(limit);
 
         List<KomodoObject> searchObjects = searcher.searchObjects(transaction);
         return searchObjects;
@@ -760,6 +1045,13 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         return (path.endsWith("/") ? (path + name) : (path + FORWARD_SLASH + name)); //$NON-NLS-1$
     }
 
+    /**
+     * @return the cache of exported objects or <code>null</code> if this repository does not cache exports
+     */
+    public ExportCache getExportCache() {
+        return null;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -912,6 +1204,22 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         // nothing to do
     }
 
+    /**
+     * Tells the {@link RepositoryChangeObserver change observers} that changes have been committed.
+     */
+    protected void notifyChangeObservers() {
+        for (final RepositoryObserver observer : this.observers) {
+            if (observer instanceof RepositoryChangeObserver) {
+                try {
+                    // Ensure all observers are informed even if one throws an exception
+                    ((RepositoryChangeObserver)observer).changesCommitted();
+                } catch (final Exception ex) {
+                    KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), ex);
+                }
+            }
+        }
+    }
+
     protected void notifyObservers() {
         for (final RepositoryObserver observer : this.observers) {
             try {
@@ -1029,6 +1337,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             try {
                 if (session.itemExists(absPath)) {
                     session.removeItem(absPath);
+                    ((UnitOfWorkImpl)transaction).invalidateCachedNodes(absPath);
                     LOGGER.debug("removed workspace node at path {0} in transaction {1}", absPath, transaction.getName()); //$NON-NLS-1$
                 } else {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_REMOVE_NON_EXISTENT_WORKSPACE_ITEM, absPath));
@@ -1156,6 +1465,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             try {
                 if (session.itemExists(absPath)) {
                     session.removeItem(absPath);
+                    ((UnitOfWorkImpl)transaction).invalidateCachedNodes(absPath);
                     LOGGER.debug("removed library node at path {0} in transaction {1}", absPath, transaction.getName()); //$NON-NLS-1$
                 } else {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_UNPUBLISH_NON_EXISTENT_ARTIFACT, absPath));
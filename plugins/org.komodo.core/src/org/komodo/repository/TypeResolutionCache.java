@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.nodetype.NodeType;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+
+/**
+ * A least-recently-used cache of the results of resolving the type of a node. Results are keyed by the node identifier and the
+ * names of the node's primary type and mixins, so a result is no longer found once the node's mixins change.
+ *
+ * @param <T>
+ *        the type of the cached results
+ */
+public class TypeResolutionCache< T > implements StringConstants {
+
+    /**
+     * The default maximum number of cached results. Value is {@value} .
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 50000;
+
+    /**
+     * @param node
+     *        the node whose key is being requested (cannot be <code>null</code>)
+     * @return the key of the node's type resolution (never empty)
+     * @throws RepositoryException
+     *         if an error occurs
+     */
+    public static String key( final Node node ) throws RepositoryException {
+        ArgCheck.isNotNull(node, "node"); //$NON-NLS-1$
+        final StringBuilder key = new StringBuilder(node.getIdentifier());
+        key.append(FORWARD_SLASH).append(node.getPrimaryNodeType().getName());
+
+        for (final NodeType mixin : node.getMixinNodeTypes()) {
+            key.append(COMMA).append(mixin.getName());
+        }
+
+        return key.toString();
+    }
+
+    private final LinkedHashMap< String, T > results;
+
+    /**
+     * Constructs a cache holding the {@link #DEFAULT_MAX_ENTRIES default maximum number} of results.
+     */
+    public TypeResolutionCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries
+     *        the maximum number of cached results (must be greater than zero)
+     */
+    public TypeResolutionCache( final int maxEntries ) {
+        ArgCheck.isTrue(maxEntries > 0, "maxEntries must be greater than zero"); //$NON-NLS-1$
+
+        this.results = new LinkedHashMap< String, T >(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< String, T > eldest ) {
+                return (size() > maxEntries);
+            }
+
+        };
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public synchronized void clear() {
+        this.results.clear();
+    }
+
+    /**
+     * @param key
+     *        the {@link #key(Node) key} of the node (cannot be empty)
+     * @return the cached result or <code>null</code> if not found
+     */
+    public synchronized T get( final String key ) {
+        return this.results.get(key);
+    }
+
+    /**
+     * @param key
+     *        the {@link #key(Node) key} of the node (cannot be empty)
+     * @param result
+     *        the result of resolving the node's type (cannot be <code>null</code>)
+     */
+    public synchronized void put( final String key,
+                                  final T result ) {
+        ArgCheck.isNotNull(result, "result"); //$NON-NLS-1$
+        this.results.put(key, result);
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public synchronized int size() {
+        return this.results.size();
+    }
+
+}
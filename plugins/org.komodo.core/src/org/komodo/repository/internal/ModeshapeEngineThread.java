@@ -22,17 +22,23 @@
 package org.komodo.repository.internal;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.Session;
+import org.infinispan.schematic.document.Document;
 import org.komodo.core.KEngine;
+import org.komodo.repository.ExportCache;
 import org.komodo.repository.Messages;
 import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
 import org.modeshape.common.collection.Problem;
@@ -41,9 +47,13 @@ import org.modeshape.jcr.JcrRepository;
 import org.modeshape.jcr.JcrSession;
 import org.modeshape.jcr.ModeShapeEngine;
 import org.modeshape.jcr.RepositoryConfiguration;
+import org.modeshape.jcr.RepositoryConfiguration.Component;
+import org.modeshape.jcr.RepositoryConfiguration.FieldName;
 
 /**
- * The thread the ModeShape engine uses for local repositories.
+ * The thread the ModeShape engine uses for local repositories. Engine lifecycle requests, commits, and the creation of sessions
+ * that will be committed are serialized through this thread. Read-only sessions can be created, and sessions can be rolled back,
+ * directly on the calling thread so that readers do not wait behind unrelated commits.
  */
 public class ModeshapeEngineThread extends Thread {
 
@@ -156,6 +166,7 @@ public class ModeshapeEngineThread extends Thread {
     public static class SessionRequest extends Request {
 
         private final String name;
+        private final SequencingFuture sequencingFuture;
         private final Session session;
 
         /**
@@ -172,6 +183,26 @@ public class ModeshapeEngineThread extends Thread {
                                final RequestCallback callback,
                                final Session requestSession,
                                final String requestName ) {
+            this(requestType, callback, requestSession, requestName, null);
+        }
+
+        /**
+         * @param requestType
+         *        the request type (cannot be <code>null</code> and must be a {@link SessionRequest session request}.
+         * @param callback
+         *        the callback (can be <code>null</code>)
+         * @param requestSession
+         *        the session the request pertains to (cannot be <code>null</code>)
+         * @param requestName
+         *        a name given to the request for logging purposes
+         * @param sequencingFuture
+         *        the future completed once the sequencing triggered by a commit has finished (can be <code>null</code>)
+         */
+        public SessionRequest( final RequestType requestType,
+                               final RequestCallback callback,
+                               final Session requestSession,
+                               final String requestName,
+                               final SequencingFuture sequencingFuture ) {
             super(requestType, callback);
 
             ArgCheck.isTrue(RequestType.isSessionRequest(requestType), "request type is not a session request"); //$NON-NLS-1$
@@ -180,12 +211,17 @@ public class ModeshapeEngineThread extends Thread {
 
             this.session = requestSession;
             this.name = requestName;
+            this.sequencingFuture = sequencingFuture;
         }
 
         String getName() {
             return this.name;
         }
 
+        SequencingFuture getSequencingFuture() {
+            return this.sequencingFuture;
+        }
+
         Session getSession() {
             return this.session;
         }
@@ -195,7 +231,15 @@ public class ModeshapeEngineThread extends Thread {
     private final static ModeShapeEngine msEngine = new ModeShapeEngine();
     private static final KLog LOGGER = KLog.getLogger();
 
-    private JcrRepository repository;
+    private static final String SAVE_ID_PREFIX = "komodo-save-"; //$NON-NLS-1$
+
+    private volatile JcrRepository repository;
+
+    private final ExportCache exportCache = new ExportCache();
+    private final AtomicLong saveCounter = new AtomicLong();
+
+    private Session sequencingSession;
+    private volatile SequencingTracker sequencingTracker;
 
     private BlockingQueue< Request > queue = new LinkedBlockingQueue< Request >();
 
@@ -225,14 +269,35 @@ public class ModeshapeEngineThread extends Thread {
                         "commitSession called when request is not a commit session"); //$NON-NLS-1$
         final SessionRequest commitRequest = (SessionRequest)request;
         final Session session = commitRequest.getSession();
+        final SequencingFuture sequencingFuture = commitRequest.getSequencingFuture();
+        final SequencingTracker tracker = this.sequencingTracker;
+        String trackingId = null;
+        String saveId = null;
         LOGGER.debug("commit session for request {0}", commitRequest.getName()); //$NON-NLS-1$
 
         try {
             //
             // Only bother to save if we actually have changes to save
             //
-            if (session.hasPendingChanges())
+            if (session.hasPendingChanges()) {
+                if ((sequencingFuture != null) && (tracker != null)) {
+                    trackingId = tracker.track(sequencingFuture);
+                    saveId = trackingId;
+                } else {
+                    saveId = SAVE_ID_PREFIX + this.saveCounter.incrementAndGet();
+                }
+
+                // cached exports are not used until the events of the save have been received
+                session.getWorkspace().getObservationManager().setUserData(saveId);
+                this.exportCache.saving(saveId);
+
                 session.save();
+            }
+
+            // nothing was saved or nothing is tracking the sequencing
+            if ((trackingId == null) && (sequencingFuture != null)) {
+                sequencingFuture.complete();
+            }
 
             LOGGER.debug("commit session request {0} has been saved", commitRequest.getName()); //$NON-NLS-1$
 
@@ -240,6 +305,18 @@ public class ModeshapeEngineThread extends Thread {
                 request.getCallback().respond(null);
             }
         } catch (final Exception e) {
+            if (trackingId != null) {
+                tracker.untrack(trackingId);
+            }
+
+            if (saveId != null) {
+                this.exportCache.saveFailed(saveId);
+            }
+
+            if (sequencingFuture != null) {
+                sequencingFuture.fail(e);
+            }
+
             if (request.getCallback() == null) {
                 LOGGER.error(Messages.getString(Messages.Komodo.ERROR_TRYING_TO_COMMIT, e, commitRequest.getName()));
                 rollbackSession(request);
@@ -251,6 +328,25 @@ public class ModeshapeEngineThread extends Thread {
         }
     }
 
+    /**
+     * Creates a session on the calling thread without going through the request queue. The JCR repository login is thread-safe so
+     * this should be used for sessions that will never be committed.
+     *
+     * @return the new session (never <code>null</code>)
+     * @throws Exception
+     *         if the engine or repository is not running or if the login fails
+     */
+    public Session createReadOnlySession() throws Exception {
+        return createSession();
+    }
+
+    /**
+     * @return the cache of exported objects (never <code>null</code>)
+     */
+    public ExportCache getExportCache() {
+        return this.exportCache;
+    }
+
     private JcrSession createSession() throws Exception {
         if (! isEngineRunning()) {
             throw new KException(Messages.getString(Messages.LocalRepository.Engine_Not_Running));
@@ -285,6 +381,19 @@ public class ModeshapeEngineThread extends Thread {
         return isEngineRunning() && isRepositoryRunning();
     }
 
+    /**
+     * Rolls back the session of the specified request on the calling thread without going through the request queue. A rollback
+     * only discards the pending changes of its own session so it does not need to be serialized with commits. The request
+     * callback is notified before this method returns.
+     *
+     * @param request
+     *        the rollback request (cannot be <code>null</code> and must be a {@link RequestType#ROLLBACK_SESSION} request)
+     */
+    public void rollback( final SessionRequest request ) {
+        ArgCheck.isNotNull(request, "request"); //$NON-NLS-1$
+        rollbackSession(request);
+    }
+
     private void rollbackSession( final Request request ) {
         ArgCheck.isTrue(request.getRequestType() == RequestType.ROLLBACK_SESSION,
                         "rollbackSession called when request is not a rollback session"); //$NON-NLS-1$
@@ -366,9 +475,75 @@ public class ModeshapeEngineThread extends Thread {
 
         // Await the start of the repository
         startRepository.get(5, TimeUnit.MINUTES);
+
+        startSequencingTracker(config);
+    }
+
+    /*
+     * The path expressions of the configured sequencers, so the sequencing tracker selects the same properties
+     */
+    private static List< String > sequencerPathExpressions( final RepositoryConfiguration config ) {
+        final List< String > pathExpressions = new ArrayList< String >();
+
+        for (final Component sequencer : config.getSequencing().getSequencers()) {
+            final Document document = sequencer.getDocument();
+            final String pathExpression = document.getString(FieldName.PATH_EXPRESSION);
+
+            if (pathExpression != null) {
+                pathExpressions.add(pathExpression);
+            }
+
+            final List< ? > expressions = document.getArray(FieldName.PATH_EXPRESSIONS);
+
+            if (expressions != null) {
+                for (final Object expression : expressions) {
+                    pathExpressions.add(expression.toString());
+                }
+            }
+        }
+
+        return pathExpressions;
+    }
+
+    private void startSequencingTracker( final RepositoryConfiguration config ) throws Exception {
+        final SequencingTracker tracker = new SequencingTracker(sequencerPathExpressions(config));
+        this.sequencingSession = createSession();
+        this.sequencingSession.getWorkspace().getObservationManager().addEventListener(tracker,
+                                                                                        SequencingTracker.EVENT_TYPES,
+                                                                                        StringConstants.FORWARD_SLASH,
+                                                                                        true,
+                                                                                        null,
+                                                                                        null,
+                                                                                        false);
+        this.sequencingSession.getWorkspace().getObservationManager().addEventListener(this.exportCache,
+                                                                                        ExportCache.EVENT_TYPES,
+                                                                                        StringConstants.FORWARD_SLASH,
+                                                                                        true,
+                                                                                        null,
+                                                                                        null,
+                                                                                        false);
+        this.sequencingTracker = tracker;
+    }
+
+    private void stopSequencingTracker() {
+        final SequencingTracker tracker = this.sequencingTracker;
+        this.sequencingTracker = null;
+
+        if (tracker != null) {
+            tracker.close(new KException(Messages.getString(Messages.LocalRepository.Engine_Not_Running)));
+        }
+
+        if ((this.sequencingSession != null) && this.sequencingSession.isLive()) {
+            this.sequencingSession.logout();
+        }
+
+        this.sequencingSession = null;
+        this.exportCache.clear();
     }
 
     private synchronized void stopEngine() throws Exception {
+        stopSequencingTracker();
+
         try {
             Future<Boolean> shutdown = msEngine.shutdown();
             // Await the shutdown
@@ -383,6 +558,8 @@ public class ModeshapeEngineThread extends Thread {
         if (session == null || !session.isLive())
             return;
 
+        this.exportCache.clear();
+
         Node rootNode = session.getRootNode();
         NodeIterator children = rootNode.getNodes();
         while(children.hasNext()) {
@@ -410,6 +587,9 @@ public class ModeshapeEngineThread extends Thread {
             try {
                 Request request = queue.poll(1000L, TimeUnit.MILLISECONDS);
 
+                final SequencingTracker tracker = this.sequencingTracker;
+                if (tracker != null) tracker.expire();
+
                 if (request == null) continue;
 
                 final RequestCallback callback = request.getCallback();
@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.jcr.Session;
+import org.komodo.repository.Messages;
+import org.komodo.spi.KException;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * A pool of live sessions used by rollback-only transactions. Logging into the repository costs far more than the reads most
+ * rollback-only transactions perform, so sessions are refreshed, discarding any pending changes, and reused instead of being
+ * logged out when the transaction ends. Only the number of idle sessions is bounded. A new session is created whenever no idle
+ * session is available, so callers never wait, and sessions returned to a full pool are logged out.
+ */
+public class ReadOnlySessionPool {
+
+    /**
+     * The default maximum number of idle sessions the pool will hold open.
+     */
+    public static final int DEFAULT_MAX_IDLE = 8;
+
+    /**
+     * The name of the system property that can be used to override the {@link #DEFAULT_MAX_IDLE default maximum number of idle
+     * sessions}.
+     */
+    public static final String MAX_IDLE_PROPERTY = "komodo.readOnlySessionPoolSize"; //$NON-NLS-1$
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private volatile boolean closed = false;
+    private final ModeshapeEngineThread engineThread;
+    private final BlockingQueue< Session > idle;
+    private final int maxIdle;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param engineThread
+     *        the engine thread used to create sessions (cannot be <code>null</code>)
+     * @param maxIdle
+     *        the maximum number of idle sessions the pool will keep open (must be greater than zero)
+     */
+    public ReadOnlySessionPool( final ModeshapeEngineThread engineThread,
+                                final int maxIdle ) {
+        ArgCheck.isNotNull(engineThread, "engineThread"); //$NON-NLS-1$
+        ArgCheck.isTrue((maxIdle > 0), "maxIdle must be greater than zero"); //$NON-NLS-1$
+
+        this.engineThread = engineThread;
+        this.maxIdle = maxIdle;
+        this.idle = new LinkedBlockingQueue< Session >(maxIdle);
+    }
+
+    /**
+     * Obtains an idle session or, if none is available, creates a new one.
+     *
+     * @return a live session (never <code>null</code>)
+     * @throws Exception
+     *         if the pool is closed or a session could not be created
+     */
+    public Session borrow() throws Exception {
+        if (this.closed) {
+            throw new KException(Messages.getString(Messages.LocalRepository.Unable_To_Create_Session));
+        }
+
+        final Session session = pollIdle();
+
+        if (session != null) {
+            return session;
+        }
+
+        final Session created = this.engineThread.createReadOnlySession();
+        this.size.incrementAndGet();
+        return created;
+    }
+
+    /**
+     * Logs out of all idle sessions. Sessions returned after the pool is closed are logged out.
+     */
+    public void close() {
+        this.closed = true;
+        Session session = null;
+
+        while ((session = this.idle.poll()) != null) {
+            discard(session);
+        }
+    }
+
+    private void discard( final Session session ) {
+        this.size.decrementAndGet();
+
+        if (session.isLive()) {
+            session.logout();
+        }
+    }
+
+    /**
+     * @return the number of sessions currently sitting idle in the pool
+     */
+    public int getIdleCount() {
+        return this.idle.size();
+    }
+
+    /**
+     * @return the maximum number of idle sessions the pool will keep open
+     */
+    public int getMaxIdle() {
+        return this.maxIdle;
+    }
+
+    /**
+     * @return the number of open sessions, both idle and in use, created by the pool
+     */
+    public int getSize() {
+        return this.size.get();
+    }
+
+    private Session pollIdle() {
+        Session session = null;
+
+        while ((session = this.idle.poll()) != null) {
+            if (session.isLive()) {
+                return session;
+            }
+
+            this.size.decrementAndGet();
+        }
+
+        return null;
+    }
+
+    /**
+     * Discards any pending changes of the session and makes it available to other rollback-only transactions. Sessions that can't
+     * be refreshed, or that are returned when the maximum number of idle sessions is reached, are logged out.
+     *
+     * @param session
+     *        the session obtained from {@link #borrow()} (cannot be <code>null</code>)
+     */
+    public void release( final Session session ) {
+        ArgCheck.isNotNull(session, "session"); //$NON-NLS-1$
+
+        if (this.closed || !session.isLive()) {
+            discard(session);
+            return;
+        }
+
+        try {
+            session.refresh(false);
+        } catch (final Exception e) {
+            LOGGER.debug("ReadOnlySessionPool: discarding session that could not be refreshed: {0}", e.getLocalizedMessage()); //$NON-NLS-1$
+            discard(session);
+            return;
+        }
+
+        if (!this.idle.offer(session)) {
+            discard(session);
+        } else if (this.closed) {
+            // pool closed while session was being returned
+            close();
+        }
+    }
+
+}
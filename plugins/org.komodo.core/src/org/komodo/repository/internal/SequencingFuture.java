@@ -0,0 +1,240 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.komodo.spi.constants.StringConstants;
+
+/**
+ * A future that completes once every sequencing job triggered by committing a transaction has finished. If a sequencing job
+ * fails, {@link #get()} throws an {@link ExecutionException} whose cause is the first failure. The future cannot be cancelled.
+ */
+public class SequencingFuture implements Future< Void >, StringConstants {
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Throwable error;
+
+    /**
+     * The number of outstanding jobs keyed by the path of the node being sequenced. Guarded by this future.
+     */
+    private final Map< String, Integer > jobs = new HashMap< String, Integer >();
+
+    /**
+     * The tasks run when this future completes. Guarded by this future.
+     */
+    private final List< Runnable > completionTasks = new ArrayList< Runnable >();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#cancel(boolean)
+     */
+    @Override
+    public boolean cancel( final boolean mayInterruptIfRunning ) {
+        return false;
+    }
+
+    /**
+     * Marks the future as done. Does nothing if already done.
+     */
+    public void complete() {
+        final List< Runnable > tasks;
+
+        synchronized (this) {
+            if (isDone()) {
+                return;
+            }
+
+            this.done.countDown();
+            tasks = new ArrayList< Runnable >(this.completionTasks);
+            this.completionTasks.clear();
+        }
+
+        for (final Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    /**
+     * Runs the task on the thread that completes this future, whether sequencing succeeded or failed. If this future is
+     * already done the task is run right away on the calling thread.
+     *
+     * @param task
+     *        the task to run (cannot be <code>null</code>)
+     */
+    public void whenDone( final Runnable task ) {
+        synchronized (this) {
+            if (!isDone()) {
+                this.completionTasks.add(task);
+                return;
+            }
+        }
+
+        task.run();
+    }
+
+    /**
+     * Records a sequencing job that must finish before this future completes.
+     *
+     * @param sequencedNodePath
+     *        the path of the node that will be sequenced (cannot be empty)
+     */
+    synchronized void expect( final String sequencedNodePath ) {
+        final Integer count = this.jobs.get(sequencedNodePath);
+        this.jobs.put(sequencedNodePath, (count == null) ? 1 : (count + 1));
+    }
+
+    /**
+     * Marks the future as done because of an error. Does nothing if already done.
+     *
+     * @param e
+     *        the error (cannot be <code>null</code>)
+     */
+    public void fail( final Throwable e ) {
+        if (!isDone()) {
+            this.error = e;
+            complete();
+        }
+    }
+
+    /**
+     * Records that a sequencing job has finished. Completes this future if it was the last outstanding job.
+     *
+     * @param sequencedNodePath
+     *        the path of the node that was sequenced (cannot be empty)
+     * @param failure
+     *        the sequencing failure (can be <code>null</code> if sequencing was successful)
+     * @return <code>true</code> if this future was waiting on the job
+     */
+    synchronized boolean finished( final String sequencedNodePath,
+                                   final Throwable failure ) {
+        final Integer count = this.jobs.get(sequencedNodePath);
+
+        if (count == null) {
+            return false;
+        }
+
+        if (count == 1) {
+            this.jobs.remove(sequencedNodePath);
+        } else {
+            this.jobs.put(sequencedNodePath, count - 1);
+        }
+
+        if ((failure != null) && (this.error == null)) {
+            this.error = failure;
+        }
+
+        if (this.jobs.isEmpty()) {
+            complete();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#get()
+     */
+    @Override
+    public Void get() throws InterruptedException, ExecutionException {
+        this.done.await();
+        return result();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#get(long, java.util.concurrent.TimeUnit)
+     */
+    @Override
+    public Void get( final long timeout,
+                     final TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!this.done.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+
+        return result();
+    }
+
+    /**
+     * @return <code>true</code> if there are sequencing jobs that have not finished
+     */
+    synchronized boolean hasJobs() {
+        return !this.jobs.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#isCancelled()
+     */
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Future#isDone()
+     */
+    @Override
+    public boolean isDone() {
+        return (this.done.getCount() == 0);
+    }
+
+    /**
+     * Sequencers write their output beneath the node they sequence, so output that itself needs sequencing belongs to the job
+     * that produced it.
+     *
+     * @param path
+     *        the path of a node (cannot be empty)
+     * @return <code>true</code> if the path is, or is below, a node this future is waiting to be sequenced
+     */
+    synchronized boolean owns( final String path ) {
+        for (final String sequencedNodePath : this.jobs.keySet()) {
+            if (path.equals(sequencedNodePath) || path.startsWith(sequencedNodePath + FORWARD_SLASH)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Void result() throws ExecutionException {
+        if (this.error != null) {
+            throw new ExecutionException(this.error);
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,365 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.jcr.observation.EventIterator;
+import javax.jcr.observation.EventListener;
+import org.komodo.repository.Messages;
+import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+import org.modeshape.jcr.api.observation.Event;
+import org.modeshape.jcr.api.observation.Event.Sequencing;
+
+/**
+ * Listens to the repository's change events and completes the {@link SequencingFuture sequencing future} of each tracked commit
+ * once the sequencing jobs it triggered have finished.
+ * <p>
+ * The commit's session tags its save with a tracking identifier as the observation user data. The events of that save are
+ * used to find the properties that trigger a sequencer. Sequencers save their output beneath the node they sequence so output
+ * properties that trigger another sequencer (i.e., the Teiid SQL sequencer running on DDL sequencer output) are added to the
+ * same future.
+ * <p>
+ * The properties that trigger a sequencer are taken from the sequencer path expressions of the repository configuration. A
+ * sequencer that finishes without saving output produces no event, so a future whose jobs make no progress for
+ * {@link #SEQUENCING_TIMEOUT} is failed by {@link #expire()}.
+ */
+public class SequencingTracker implements EventListener, StringConstants {
+
+    /**
+     * The event types the tracker must be registered for.
+     */
+    public static final int EVENT_TYPES = Event.NODE_ADDED | Event.NODE_REMOVED | Event.PROPERTY_ADDED | Event.PROPERTY_CHANGED
+                                          | Event.PROPERTY_REMOVED | Sequencing.NODE_SEQUENCED
+                                          | Sequencing.NODE_SEQUENCING_FAILURE;
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The time in milliseconds a tracked future can go without progress before it is failed.
+     */
+    static final long SEQUENCING_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * The selected node path and the property of a sequencer path expression like <code>:(//*.xml/jcr:content)[@jcr:data] => /$1</code>
+     */
+    private static final Pattern PATH_EXPRESSION = Pattern.compile("(?:[^:(/]*:)*\\(?([^\\[)]*)\\)?\\[@([^\\]]+)\\].*"); //$NON-NLS-1$
+
+    private static final Pattern SAME_NAME_SIBLING_INDEX = Pattern.compile("\\[\\d+\\]"); //$NON-NLS-1$
+
+    private static final String TRACKING_ID_PREFIX = "komodo-sequencing-"; //$NON-NLS-1$
+
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * The node paths selected by the sequencers keyed by the name of the property that triggers them.
+     */
+    private final Map< String, List< Pattern > > sequencedProperties = new HashMap< String, List< Pattern > >();
+
+    /**
+     * The last time each tracked future made progress. Guarded by this tracker.
+     */
+    private final Map< SequencingFuture, Long > activity = new IdentityHashMap< SequencingFuture, Long >();
+
+    /**
+     * Futures of saves whose events have not been received yet, keyed by tracking identifier. Guarded by this tracker.
+     */
+    private final Map< String, SequencingFuture > saving = new HashMap< String, SequencingFuture >();
+
+    /**
+     * Futures with outstanding sequencing jobs. Guarded by this tracker.
+     */
+    private final List< SequencingFuture > sequencing = new ArrayList< SequencingFuture >();
+
+    /**
+     * @param pathExpressions
+     *        the path expressions of the sequencers configured in the repository (cannot be <code>null</code>)
+     */
+    public SequencingTracker( final Collection< String > pathExpressions ) {
+        ArgCheck.isNotNull(pathExpressions, "pathExpressions"); //$NON-NLS-1$
+
+        for (final String pathExpression : pathExpressions) {
+            final Matcher matcher = PATH_EXPRESSION.matcher(pathExpression.trim());
+
+            if (!matcher.matches()) {
+                LOGGER.debug("SequencingTracker: path expression {0} is not tracked", pathExpression); //$NON-NLS-1$
+                continue;
+            }
+
+            List< Pattern > nodePaths = this.sequencedProperties.get(matcher.group(2));
+
+            if (nodePaths == null) {
+                nodePaths = new ArrayList< Pattern >();
+                this.sequencedProperties.put(matcher.group(2), nodePaths);
+            }
+
+            nodePaths.add(nodePathPattern(matcher.group(1)));
+        }
+    }
+
+    /*
+     * "//" selects nodes at any depth and "*" any part of a name
+     */
+    private static Pattern nodePathPattern( final String selectedPath ) {
+        final StringBuilder regex = new StringBuilder();
+        int index = 0;
+
+        while (index < selectedPath.length()) {
+            final char c = selectedPath.charAt(index);
+
+            if (selectedPath.startsWith(FORWARD_SLASH + FORWARD_SLASH, index)) {
+                regex.append("(/[^/]+)*/"); //$NON-NLS-1$
+                index += 2;
+                continue;
+            }
+
+            if (c == '*') {
+                regex.append("[^/]*"); //$NON-NLS-1$
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+
+            ++index;
+        }
+
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Fails the futures that have not made progress within the {@link #SEQUENCING_TIMEOUT timeout}. A sequencer that does not
+     * save any output produces no sequencing event, so without this the future of its job would never complete.
+     */
+    public void expire() {
+        final List< SequencingFuture > expired = new ArrayList< SequencingFuture >();
+
+        synchronized (this) {
+            final long oldest = System.currentTimeMillis() - SEQUENCING_TIMEOUT;
+
+            for (final Iterator< Map.Entry< SequencingFuture, Long > > itr = this.activity.entrySet().iterator(); itr.hasNext();) {
+                final Map.Entry< SequencingFuture, Long > entry = itr.next();
+
+                if (entry.getValue() < oldest) {
+                    expired.add(entry.getKey());
+                    itr.remove();
+                }
+            }
+
+            if (expired.isEmpty()) {
+                return;
+            }
+
+            this.saving.values().removeAll(expired);
+            this.sequencing.removeAll(expired);
+        }
+
+        final KException error = new KException(Messages.getString(Messages.LocalRepository.Sequencing_Timeout,
+                                                                   TimeUnit.MILLISECONDS.toMinutes(SEQUENCING_TIMEOUT)));
+
+        for (final SequencingFuture future : expired) {
+            future.fail(error);
+        }
+    }
+
+    /**
+     * Fails all futures still being tracked. Used when the repository is stopped.
+     *
+     * @param e
+     *        the reason the futures can no longer complete (cannot be <code>null</code>)
+     */
+    public synchronized void close( final Throwable e ) {
+        for (final SequencingFuture future : this.saving.values()) {
+            future.fail(e);
+        }
+
+        for (final SequencingFuture future : this.sequencing) {
+            future.fail(e);
+        }
+
+        this.saving.clear();
+        this.sequencing.clear();
+        this.activity.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see javax.jcr.observation.EventListener#onEvent(javax.jcr.observation.EventIterator)
+     */
+    @Override
+    public synchronized void onEvent( final EventIterator events ) {
+        final Set< SequencingFuture > saved = new HashSet< SequencingFuture >();
+
+        while (events.hasNext()) {
+            try {
+                final Event event = (Event)events.nextEvent();
+                final int type = event.getType();
+
+                if ((type == Sequencing.NODE_SEQUENCED) || (type == Sequencing.NODE_SEQUENCING_FAILURE)) {
+                    final Map< ?, ? > info = event.getInfo();
+                    final String sequencedNodePath = (String)info.get(Sequencing.SEQUENCED_NODE_PATH);
+                    final Throwable failure = (type == Sequencing.NODE_SEQUENCING_FAILURE) ? (Throwable)info.get(Sequencing.SEQUENCING_FAILURE_CAUSE)
+                                                                                          : null;
+                    jobFinished(sequencedNodePath, failure);
+                    continue;
+                }
+
+                SequencingFuture future = this.saving.get(event.getUserData());
+
+                if (future != null) {
+                    saved.add(future);
+                }
+
+                if ((type != Event.PROPERTY_ADDED) && (type != Event.PROPERTY_CHANGED)) {
+                    continue;
+                }
+
+                final String sequencedNodePath = sequencedNodePath(event.getPath());
+
+                if (sequencedNodePath == null) {
+                    continue;
+                }
+
+                // sequencer output that needs sequencing belongs to the future of the node being sequenced
+                if (future == null) {
+                    for (final SequencingFuture pending : this.sequencing) {
+                        if (pending.owns(sequencedNodePath)) {
+                            future = pending;
+                            break;
+                        }
+                    }
+                }
+
+                if (future != null) {
+                    future.expect(sequencedNodePath);
+                    this.activity.put(future, System.currentTimeMillis());
+                }
+            } catch (final Exception e) {
+                LOGGER.error("SequencingTracker: error processing event: {0}", e, e.getLocalizedMessage()); //$NON-NLS-1$
+            }
+        }
+
+        // a save's events are delivered together so its sequencing jobs are now known
+        for (final SequencingFuture future : saved) {
+            this.saving.values().remove(future);
+
+            if (future.hasJobs()) {
+                this.sequencing.add(future);
+            } else {
+                this.activity.remove(future);
+                future.complete();
+            }
+        }
+    }
+
+    private void jobFinished( final String sequencedNodePath,
+                              final Throwable failure ) {
+        for (final Iterator< SequencingFuture > itr = this.sequencing.iterator(); itr.hasNext();) {
+            final SequencingFuture future = itr.next();
+
+            if (future.finished(sequencedNodePath, failure)) {
+                if (future.isDone()) {
+                    itr.remove();
+                    this.activity.remove(future);
+                } else {
+                    this.activity.put(future, System.currentTimeMillis());
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param propertyPath
+     *        the path of an added or changed property (cannot be empty)
+     * @return the path of the node that will be sequenced because of the property or <code>null</code> if the property does not
+     *         trigger sequencing
+     */
+    private String sequencedNodePath( final String propertyPath ) {
+        final int index = propertyPath.lastIndexOf(FORWARD_SLASH);
+
+        if (index <= 0) {
+            return null;
+        }
+
+        final List< Pattern > nodePaths = this.sequencedProperties.get(propertyPath.substring(index + 1));
+
+        if (nodePaths == null) {
+            return null;
+        }
+
+        final String nodePath = propertyPath.substring(0, index);
+        final String nodePathWithoutIndexes = SAME_NAME_SIBLING_INDEX.matcher(nodePath).replaceAll(EMPTY_STRING);
+
+        for (final Pattern pattern : nodePaths) {
+            if (pattern.matcher(nodePathWithoutIndexes).matches()) {
+                return nodePath;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Starts tracking the sequencing triggered by a save. The returned identifier must be set as the observation user data of the
+     * saving session.
+     *
+     * @param future
+     *        the future completed once sequencing triggered by the save has finished (cannot be <code>null</code>)
+     * @return the tracking identifier (never empty)
+     */
+    public synchronized String track( final SequencingFuture future ) {
+        final String trackingId = TRACKING_ID_PREFIX + this.counter.incrementAndGet();
+        this.saving.put(trackingId, future);
+        this.activity.put(future, System.currentTimeMillis());
+        return trackingId;
+    }
+
+    /**
+     * Stops tracking a save. Used when the save fails.
+     *
+     * @param trackingId
+     *        the identifier returned by {@link #track(SequencingFuture)} (cannot be empty)
+     */
+    public synchronized void untrack( final String trackingId ) {
+        final SequencingFuture future = this.saving.remove(trackingId);
+
+        if (future != null) {
+            this.activity.remove(future);
+        }
+    }
+
+}
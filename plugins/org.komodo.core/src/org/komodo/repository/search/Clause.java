@@ -38,6 +38,11 @@ abstract class Clause implements SQLConstants {
      */
     protected static final String ALIAS = "alias"; //$NON-NLS-1$
 
+    /**
+     * Prefix of the names of bind variables
+     */
+    protected static final String BIND_VARIABLE_PREFIX = "value"; //$NON-NLS-1$
+
     public enum LogicalOperator {
 
         OR,
@@ -92,12 +97,32 @@ abstract class Clause implements SQLConstants {
         setProperty(ALIAS, alias);
     }
 
-    protected void appendStringValues(StringBuffer buffer, Iterator<String> valuesIter) {
-        while(valuesIter.hasNext()) {
-            String value = valuesIter.next();
+    /**
+     * Appends a value either as a quoted literal or, if bind variables are being used,
+     * as a new bind variable whose value is added to the bindings
+     *
+     * @param buffer the buffer to append to
+     * @param value the value
+     * @param bindings the bind variable values (can be null if values are literals)
+     */
+    protected void appendValue(StringBuffer buffer, String value, Map<String, String> bindings) {
+        if (bindings == null) {
             buffer.append(QUOTE_MARK);
             buffer.append(value);
             buffer.append(QUOTE_MARK);
+            return;
+        }
+
+        String name = BIND_VARIABLE_PREFIX + bindings.size();
+        bindings.put(name, value);
+        buffer.append(DOLLAR_SIGN);
+        buffer.append(name);
+    }
+
+    protected void appendStringValues(StringBuffer buffer, Iterator<String> valuesIter, Map<String, String> bindings) {
+        while(valuesIter.hasNext()) {
+            String value = valuesIter.next();
+            appendValue(buffer, value, bindings);
 
             if (valuesIter.hasNext()) {
                 buffer.append(COMMA);
@@ -141,7 +166,21 @@ abstract class Clause implements SQLConstants {
         return alias;
     }
 
-    public abstract String clauseString(int index);
+    /**
+     * @param index the position of this clause in the where clause
+     * @return this clause with its values as literals
+     */
+    public String clauseString(int index) {
+        return clauseString(index, null);
+    }
+
+    /**
+     * @param index the position of this clause in the where clause
+     * @param bindings the bind variable values of the statement to which this clause adds its values
+     *                  (can be null if values should be literals)
+     * @return this clause
+     */
+    public abstract String clauseString(int index, Map<String, String> bindings);
 
     @Override
     public int hashCode() {
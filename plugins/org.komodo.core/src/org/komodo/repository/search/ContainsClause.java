@@ -23,6 +23,7 @@ package org.komodo.repository.search;
 
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import org.komodo.spi.repository.Repository.KeywordCriteria;
 import org.komodo.utils.ArgCheck;
@@ -117,7 +118,7 @@ class ContainsClause extends Clause implements PropertyClause {
     }
 
     @Override
-    public String clauseString(int index) {
+    public String clauseString(int index, Map<String, String> bindings) {
         StringBuffer buffer = new StringBuffer();
 
         appendLogicalOperator(index, buffer);
@@ -138,28 +139,28 @@ class ContainsClause extends Clause implements PropertyClause {
         buffer.append(COMMA);
         buffer.append(SPACE);
 
-        buffer.append(QUOTE_MARK);
+        StringBuffer expression = new StringBuffer();
 
         Iterator<String> iter  = getKeywords().iterator();
         while(iter.hasNext()) {
             String keyword = iter.next();
 
             if (KeywordCriteria.NONE == keywordCriteria)
-                buffer.append(HYPHEN);
+                expression.append(HYPHEN);
 
-            buffer.append(keyword);
+            expression.append(keyword);
 
             if (iter.hasNext()) {
-                buffer.append(SPACE);
+                expression.append(SPACE);
 
                 if (KeywordCriteria.ANY == keywordCriteria) {
-                    buffer.append("OR"); //$NON-NLS-1$
-                    buffer.append(SPACE);
+                    expression.append("OR"); //$NON-NLS-1$
+                    expression.append(SPACE);
                 }
             }
         }
 
-        buffer.append(QUOTE_MARK);
+        appendValue(buffer, expression.toString(), bindings);
 
         buffer.append(CLOSE_BRACKET);
 
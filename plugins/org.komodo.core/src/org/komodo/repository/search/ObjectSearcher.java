@@ -24,9 +24,11 @@ package org.komodo.repository.search;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.komodo.repository.search.Clause.LogicalOperator;
 import org.komodo.spi.KException;
@@ -53,6 +55,10 @@ public class ObjectSearcher implements SQLConstants {
 
     private String customWhereClause;
 
+    private long limit = -1;
+
+    private long offset = 0;
+
     /**
      * @param repository the repository to search
      */
@@ -257,6 +263,29 @@ public class ObjectSearcher implements SQLConstants {
         return this;
     }
 
+    /**
+     * Limit the number of objects found, eg. LIMIT 50
+     *
+     * @param limit the maximum number of objects found or a negative number if there is no limit
+     * @return this search object
+     */
+    public ObjectSearcher setLimit(long limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Skip the first objects found, eg. OFFSET 100
+     *
+     * @param offset the number of objects to skip (cannot be negative)
+     * @return this search object
+     */
+    public ObjectSearcher setOffset(long offset) {
+        ArgCheck.isTrue(offset >= 0, "offset is negative"); //$NON-NLS-1$
+        this.offset = offset;
+        return this;
+    }
+
     private boolean hasWhere() {
         return (whereClauses != null && ! whereClauses.isEmpty()) || customWhereClause != null;
     }
@@ -316,8 +345,9 @@ public class ObjectSearcher implements SQLConstants {
      * Create the Where clause
      *
      * @param buffer
+     * @param bindings the bind variable values or null if values are literals
      */
-    private void createWhere(StringBuffer buffer) {
+    private void createWhere(StringBuffer buffer, Map<String, String> bindings) {
         ArgCheck.isTrue(getFromTypes().size() > 0, "At least 1 from clause is required"); //$NON-NLS-1$
 
         if (isEmpty(whereClauses) && customWhereClause == null)
@@ -330,7 +360,7 @@ public class ObjectSearcher implements SQLConstants {
         if (! whereClauses.isEmpty()) {
             for (int i = 0; i < whereClauses.size(); i++) {
                 Clause clause = whereClauses.get(i);
-                buffer.append(clause.clauseString(i));
+                buffer.append(clause.clauseString(i, bindings));
 
                 if (i < whereClauses.size() - 1)
                     buffer.append(SPACE);
@@ -339,12 +369,53 @@ public class ObjectSearcher implements SQLConstants {
             buffer.append(customWhereClause);
     }
 
+    /**
+     * Create the Limit and Offset clauses
+     *
+     * @param buffer
+     */
+    private void createLimit(StringBuffer buffer) {
+        if (limit >= 0) {
+            buffer.append(SPACE);
+            buffer.append(LIMIT);
+            buffer.append(SPACE);
+            buffer.append(limit);
+        }
+
+        if (offset > 0) {
+            buffer.append(SPACE);
+            buffer.append(OFFSET);
+            buffer.append(SPACE);
+            buffer.append(offset);
+        }
+    }
+
     private String createStatement() {
         StringBuffer buffer = new StringBuffer();
 
         createSelect(buffer);
         createFrom(buffer);
-        createWhere(buffer);
+        createWhere(buffer, null);
+        createLimit(buffer);
+
+        return buffer.toString();
+    }
+
+    /**
+     * Create a statement whose where clause values are bind variables. Searches
+     * with the same clause shape produce the same statement so the repository
+     * only has to parse it once. The limit and offset are applied to the query
+     * rather than the statement.
+     *
+     * @param bindings the map the bind variable values are added to
+     * @return the statement
+     */
+    private String createPreparedStatement(Map<String, String> bindings) {
+        StringBuffer buffer = new StringBuffer();
+
+        createSelect(buffer);
+        createFrom(buffer);
+        createWhere(buffer, bindings);
 
         return buffer.toString();
     }
@@ -387,8 +458,22 @@ public class ObjectSearcher implements SQLConstants {
      * @throws KException if error occurs
      */
     public List<KomodoObject> searchObjects(final UnitOfWork uow) throws KException {
-        String statement = createStatement();
-        List<KomodoObject> objects = searchObjects(uow, statement);
+        Map<String, String> bindings = new HashMap<String, String>();
+        String statement = createPreparedStatement(bindings);
+        List<KomodoObject> objects = getRepository().query(uow, statement, bindings, offset, limit);
         return objects;
     }
+
+    /**
+     * Performs the search using the parameters of this object searcher. Objects are read from the repository as the
+     * iterator advances so the transaction must remain open until iteration has finished.
+     *
+     * @param uow a transaction. Cannot be null
+     * @return an iterator over the {@link KomodoObject}s resulting from this search
+     * @throws KException if error occurs
+     */
+    public Iterator<KomodoObject> iterateObjects(final UnitOfWork uow) throws KException {
+        ArgCheck.isNotNull(uow, "uow"); //$NON-NLS-1$
+        return getRepository().queryIterator(uow, createStatement());
+    }
 }
@@ -21,6 +21,7 @@
  */
 package org.komodo.repository.search;
 
+import java.util.Map;
 import org.komodo.utils.StringUtils;
 import org.modeshape.jcr.api.JcrConstants;
 
@@ -40,7 +41,7 @@ class ParentPathClause extends PathClause {
     }
 
     @Override
-    public String clauseString(int position) {
+    public String clauseString(int position, Map<String, String> bindings) {
         StringBuffer buffer = new StringBuffer();
 
         appendLogicalOperator(position, buffer);
@@ -62,15 +63,13 @@ class ParentPathClause extends PathClause {
         buffer.append(LIKE);
         buffer.append(SPACE);
 
-        buffer.append(QUOTE_MARK);
-        buffer.append(getPath());
+        String pattern = getPath();
         
         if (! getPath().endsWith(CLOSE_SQUARE_BRACKET) &&
              ! getPath().endsWith(FORWARD_SLASH))
-            buffer.append(FORWARD_SLASH);
+            pattern = pattern + FORWARD_SLASH;
 
-        buffer.append(PERCENT);
-        buffer.append(QUOTE_MARK);
+        appendValue(buffer, pattern + PERCENT, bindings);
 
         return buffer.toString();
     }    
@@ -21,6 +21,7 @@
  */
 package org.komodo.repository.search;
 
+import java.util.Map;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.StringUtils;
 
@@ -58,7 +59,7 @@ class PathClause extends Clause {
     }
 
     @Override
-    public String clauseString(int position) {
+    public String clauseString(int position, Map<String, String> bindings) {
         StringBuffer buffer = new StringBuffer();
 
         appendLogicalOperator(position, buffer);
@@ -76,9 +77,7 @@ class PathClause extends Clause {
         buffer.append(SPACE);
         buffer.append(EQUALS);
         buffer.append(SPACE);
-        buffer.append(QUOTE_MARK);
-        buffer.append(getPath());
-        buffer.append(QUOTE_MARK);
+        appendValue(buffer, getPath(), bindings);
 
         return buffer.toString();
     }
@@ -23,6 +23,7 @@ package org.komodo.repository.search;
 
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.StringUtils;
@@ -107,7 +108,7 @@ class SetClause extends Clause implements PropertyClause {
     }
 
     @Override
-    public String clauseString(int position) {
+    public String clauseString(int position, Map<String, String> bindings) {
         StringBuffer buffer = new StringBuffer();
 
         appendLogicalOperator(position, buffer);
@@ -128,7 +129,7 @@ class SetClause extends Clause implements PropertyClause {
 
         buffer.append(OPEN_BRACKET);
         Iterator<String> valuesIter = getValues().iterator();
-        appendStringValues(buffer, valuesIter);
+        appendStringValues(buffer, valuesIter, bindings);
         buffer.append(CLOSE_BRACKET);
 
         return buffer.toString();
@@ -22,10 +22,13 @@
 package org.komodo.importer;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import org.komodo.importer.ImportOptions.ImportType;
 import org.komodo.importer.ImportOptions.OptionKeys;
 import org.komodo.importer.Messages.IMPORTER;
 import org.komodo.relational.model.Model;
@@ -134,16 +137,14 @@ public abstract class AbstractImporter implements StringConstants {
     }
 
     protected String toString(InputStream inputStream) throws Exception {
-        BufferedInputStream bis = new BufferedInputStream(inputStream);
-        ByteArrayOutputStream buf = new ByteArrayOutputStream();
-        int result = bis.read();
-        while (result != -1) {
-            byte b = (byte)result;
-            buf.write(b);
-            result = bis.read();
-        }
+        final Reader reader = new InputStreamReader(inputStream);
+        final StringBuilder builder = new StringBuilder();
+        final char[] buf = new char[FileUtils.DEFAULT_BUFFER_SIZE];
+
+        for (int charTot = reader.read(buf); charTot >= 0; charTot = reader.read(buf))
+            builder.append(buf, 0, charTot);
 
-        return buf.toString();
+        return builder.toString();
     }
 
     protected KomodoObject prepareImport(String content, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
@@ -153,6 +154,46 @@ public abstract class AbstractImporter implements StringConstants {
             return null;
         }
 
+        return createImportObject(content, importOptions);
+    }
+
+    /**
+     * Imports the content without reading it into memory when the import type allows it. VDB content is streamed into a
+     * binary property. Model definitions and schema renditions are string properties so their content is read in.
+     *
+     * @param content the stream whose content is being imported (cannot be <code>null</code>)
+     * @param importOptions the options for the import
+     * @param importMessages the messages recorded during the import
+     * @return newly created root node or <code>null</code> if the content is empty
+     * @throws Exception if error occurs
+     */
+    protected KomodoObject prepareImport(InputStream content, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
+        ArgCheck.isNotNull(content);
+
+        if (importOptions.getImportType() != ImportType.VDB) {
+            return prepareImport(toString(content), importOptions, importMessages);
+        }
+
+        final BufferedInputStream stream = new BufferedInputStream(content, FileUtils.DEFAULT_BUFFER_SIZE);
+        stream.mark(1);
+
+        if (stream.read() == -1) {
+            importMessages.addErrorMessage(Messages.getString(IMPORTER.errorEmptyMsg));
+            return null;
+        }
+
+        stream.reset();
+        return createImportObject(stream, importOptions);
+    }
+
+    private KomodoObject createImportObject(String content, ImportOptions importOptions) throws Exception {
+        return createImportObject(new ByteArrayInputStream(content.getBytes()), importOptions);
+    }
+
+    /*
+     * Only VDB content is stored as a binary property so other import types read the stream in
+     */
+    private KomodoObject createImportObject(InputStream content, ImportOptions importOptions) throws Exception {
         ArgCheck.isNotNull(importOptions.getImportType());
 
         /*
@@ -171,7 +212,7 @@ public abstract class AbstractImporter implements StringConstants {
                 Vdb vdb = wkspManager.createVdb(transaction, workspace, "vdb-for-" + name, name); //$NON-NLS-1$
                 Model model = wkspManager.createModel(transaction, vdb, name);
                 model.setModelType(transaction, Model.Type.valueOf(modelType.toString()));
-                model.setModelDefinition(transaction, content);
+                model.setModelDefinition(transaction, toString(content));
                 model.setProperty(transaction, StandardDdlLexicon.PARSER_ID, TeiidDdlParser.ID);
                 resultNode = model;
                 break;
@@ -179,7 +220,7 @@ public abstract class AbstractImporter implements StringConstants {
             case SCHEMA:
             {
                 Schema schema = wkspManager.createSchema(transaction, workspace, name);
-                schema.setRendition(transaction, content);
+                schema.setRendition(transaction, toString(content));
                 schema.setProperty(transaction, StandardDdlLexicon.PARSER_ID, TeiidDdlParser.ID);
                 resultNode = schema;
                 break;
@@ -33,6 +33,9 @@ import org.komodo.utils.ArgCheck;
 
 /**
  * Importer implementation for importing from DDL Schema.
+ * <p>
+ * DDL is not streamed. The model definition and schema rendition are string properties so the whole DDL, whether from a
+ * file, a stream or a string, is read into a <code>String</code> before it is imported.
  */
 public class DdlImporter extends AbstractImporter {
 
@@ -81,6 +84,7 @@ public class DdlImporter extends AbstractImporter {
 
     /**
      * Perform the model import using the specified DDL Stream.  The DDL constructs must be valid to put directly beneath a model.
+     * The whole stream is read into a <code>String</code>.
      * @param ddlStream the DDL input stream
      * @param importOptions the options for the import
      * @param importMessages the messages recorded during the import
@@ -91,7 +95,7 @@ public class DdlImporter extends AbstractImporter {
 
         KomodoObject ko = null;
         try {
-            ko = prepareImport(toString(ddlStream), importOptions, importMessages);
+            ko = prepareImport(ddlStream, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -22,6 +22,8 @@
 package org.komodo.importer.vdb;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import org.komodo.importer.AbstractImporter;
 import org.komodo.importer.ImportMessages;
@@ -70,7 +72,7 @@ public class VdbImporter extends AbstractImporter {
 
         KomodoObject ko = null;
         try {
-            ko = prepareImport(toString(vdbStream), importOptions, importMessages);
+            ko = prepareImport(vdbStream, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -92,10 +94,20 @@ public class VdbImporter extends AbstractImporter {
         if (!validFile(vdbXmlFile, importMessages))
             return ko;
 
+        InputStream vdbStream = null;
         try {
-            ko = prepareImport(toString(vdbXmlFile), importOptions, importMessages);
+            vdbStream = new FileInputStream(vdbXmlFile);
+            ko = prepareImport(vdbStream, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
+        } finally {
+            if (vdbStream != null) {
+                try {
+                    vdbStream.close();
+                } catch (IOException ex) {
+                    // nothing to do
+                }
+            }
         }
 
         return ko;
@@ -0,0 +1,353 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.modeshape.teiid;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.jcr.Binary;
+import javax.jcr.Node;
+import javax.jcr.Property;
+import javax.jcr.RepositoryException;
+import javax.jcr.Value;
+import javax.jcr.ValueFactory;
+import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
+import org.komodo.modeshape.teiid.sql.lang.ASTNode;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.runtime.version.TeiidVersion;
+import org.modeshape.jcr.api.JcrConstants;
+import org.modeshape.jcr.api.Session;
+
+/**
+ * Stores a sequenced {@link ASTNode} tree in a single binary property of the output node rather
+ * than as a jcr node per ast node. The tree is expanded into jcr nodes by {@link #materialize(Node)}
+ * when it is navigated.
+ * <p>
+ * The format begins with a magic number and a format version followed by the deflated tree. The tree
+ * is written breadth first: first the teiid version and each node's parent, name and types, then each
+ * node's properties. Reference values are written as the index of the referenced node.
+ */
+public final class CompactSqlTree implements StringConstants {
+
+    /**
+     * The name of the binary property holding a compact tree
+     */
+    public static final String PROPERTY_NAME = TeiidSqlLexicon.Namespace.PREFIX + COLON + "compactTree"; //$NON-NLS-1$
+
+    /**
+     * The version of the format written by {@link #write(ASTNode, TeiidVersion)}
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x54534354;
+
+    private static final byte BOOLEAN = 1;
+
+    private static final byte LONG = 2;
+
+    private static final byte DOUBLE = 3;
+
+    private static final byte STRING = 4;
+
+    private static final byte REFERENCE = 5;
+
+    private CompactSqlTree() {
+    }
+
+    /**
+     * @param node the node being checked (cannot be <code>null</code>)
+     * @return <code>true</code> if the node holds a compact tree that has not been materialized
+     * @throws RepositoryException if an error occurs
+     */
+    public static boolean isCompact(Node node) throws RepositoryException {
+        return node.hasProperty(PROPERTY_NAME);
+    }
+
+    /**
+     * @param rootNode the root of the tree (cannot be <code>null</code>)
+     * @param teiidVersion the teiid version the tree was parsed with (cannot be <code>null</code>)
+     * @return the compact form of the tree
+     * @throws IOException if the tree cannot be written
+     */
+    public static byte[] write(ASTNode rootNode, TeiidVersion teiidVersion) throws IOException {
+        List<ASTNode> astNodes = new ArrayList<ASTNode>();
+        Map<ASTNode, Integer> indexes = new IdentityHashMap<ASTNode, Integer>();
+
+        Queue<ASTNode> queue = new LinkedList<ASTNode>();
+        queue.add(rootNode);
+        while (queue.peek() != null) {
+            ASTNode astNode = queue.poll();
+            indexes.put(astNode, astNodes.size());
+            astNodes.add(astNode);
+
+            Iterator<ASTNode> childIter = astNode.getChildren();
+            while (childIter.hasNext()) {
+                queue.add(childIter.next());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.flush();
+
+        DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes));
+        try {
+            output.writeUTF(teiidVersion.toString());
+            output.writeInt(astNodes.size());
+
+            for (ASTNode astNode : astNodes) {
+                Integer parentIndex = indexes.get(astNode.getParent());
+                output.writeInt(parentIndex == null ? -1 : parentIndex);
+                output.writeUTF(astNode.astIdentifier());
+                output.writeUTF(astNode.getPrimaryType());
+
+                List<String> mixins = astNode.getMixins();
+                output.writeInt(mixins.size());
+                for (String mixin : mixins) {
+                    output.writeUTF(mixin);
+                }
+            }
+
+            for (ASTNode astNode : astNodes) {
+                List<String> propertyNames = new ArrayList<String>();
+                for (String propertyName : astNode.getPropertyNames()) {
+                    if (astNode.getProperty(propertyName) != null && ! JcrConstants.JCR_MIXIN_TYPES.equals(propertyName)
+                        && ! JcrConstants.JCR_PRIMARY_TYPE.equals(propertyName))
+                        propertyNames.add(propertyName);
+                }
+
+                output.writeInt(propertyNames.size());
+                for (String propertyName : propertyNames) {
+                    List<Object> values = new ArrayList<Object>();
+                    flatten(astNode.getProperty(propertyName), values);
+
+                    output.writeUTF(propertyName);
+                    output.writeInt(values.size());
+                    for (Object value : values) {
+                        writeValue(output, value, indexes);
+                    }
+                }
+            }
+        } finally {
+            output.close();
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void flatten(Object value, List<Object> values) {
+        if (value instanceof Collection) {
+            for (Object childValue : (Collection<?>) value) {
+                flatten(childValue, values);
+            }
+        } else {
+            values.add(value);
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value, Map<ASTNode, Integer> indexes) throws IOException {
+        if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof ASTNode) {
+            Integer index = indexes.get(value);
+            if (index == null)
+                throw new IOException(Messages.getString(Messages.TeiidSqlSequencer.ErrorSequencingContent,
+                                                         ((ASTNode) value).astIdentifier()));
+
+            output.writeByte(REFERENCE);
+            output.writeInt(index);
+        } else {
+            output.writeByte(STRING);
+            writeString(output, value.toString());
+        }
+    }
+
+    /*
+     * Values are not limited to the 64K of modified UTF-8 so are written as length prefixed UTF-8
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Expands the compact tree held by the given node into jcr nodes beneath it and removes the
+     * compact tree property. The nodes are created in the node's session so they are only persisted
+     * if the session is saved.
+     *
+     * @param node the node whose compact tree is expanded (cannot be <code>null</code>)
+     * @return <code>true</code> if the node held a compact tree
+     * @throws Exception if the tree cannot be read or the nodes cannot be created
+     */
+    public static boolean materialize(Node node) throws Exception {
+        if (! isCompact(node))
+            return false;
+
+        Property property = node.getProperty(PROPERTY_NAME);
+        expand(property, node);
+        property.remove();
+        return true;
+    }
+
+    /**
+     * Expands the compact tree held by the given node into jcr nodes beneath a new node in a new session.
+     * Neither the given node nor its session are modified. The session of the returned node is never
+     * saved and should be logged out once the tree has been read.
+     *
+     * @param node the node whose compact tree is expanded (cannot be <code>null</code>)
+     * @return the node holding the expanded tree or <code>null</code> if the given node does not hold a compact tree
+     * @throws Exception if the tree cannot be read or the nodes cannot be created
+     */
+    public static Node materializeDetached(Node node) throws Exception {
+        if (! isCompact(node))
+            return null;
+
+        javax.jcr.Session session = node.getSession();
+        javax.jcr.Session scratch = session.getRepository().login(null, session.getWorkspace().getName());
+
+        try {
+            Node parent = scratch.getRootNode().addNode(PROPERTY_NAME, JcrConstants.NT_UNSTRUCTURED);
+            expand(node.getProperty(PROPERTY_NAME), parent);
+            return parent;
+        } catch (Exception e) {
+            scratch.logout();
+            throw e;
+        }
+    }
+
+    /*
+     * Creates the nodes of the compact tree held by the property beneath the given node
+     */
+    private static void expand(Property property, Node node) throws Exception {
+        Binary binary = property.getBinary();
+        InputStream stream = binary.getStream();
+
+        try {
+            DataInputStream header = new DataInputStream(stream);
+            int magic = header.readInt();
+            int formatVersion = header.readInt();
+            if (magic != MAGIC || formatVersion < 1 || formatVersion > FORMAT_VERSION)
+                throw new IOException(Messages.getString(Messages.TeiidSqlSequencer.InvalidCompactTree, property.getPath()));
+
+            DataInputStream input = new DataInputStream(new InflaterInputStream(stream));
+            Session session = (Session) node.getSession();
+            ValueFactory valueFactory = session.getValueFactory();
+
+            String teiidVersion = input.readUTF();
+            Node[] nodes = new Node[input.readInt()];
+
+            for (int i = 0; i < nodes.length; ++i) {
+                int parentIndex = input.readInt();
+                String identifier = input.readUTF();
+                String primaryType = input.readUTF();
+
+                if (parentIndex < 0)
+                    nodes[i] = node.addNode(identifier, primaryType);
+                else
+                    nodes[i] = nodes[parentIndex].addNode(jcrName(session, identifier), primaryType);
+
+                int mixinCount = input.readInt();
+                for (int j = 0; j < mixinCount; ++j) {
+                    nodes[i].addMixin(input.readUTF());
+                }
+
+                nodes[i].setProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME, teiidVersion);
+            }
+
+            for (Node sequenceNode : nodes) {
+                int propertyCount = input.readInt();
+                for (int i = 0; i < propertyCount; ++i) {
+                    String propertyName = input.readUTF();
+                    Value[] values = new Value[input.readInt()];
+                    for (int j = 0; j < values.length; ++j) {
+                        values[j] = readValue(input, valueFactory, nodes, property.getPath());
+                    }
+
+                    if (values.length == 1)
+                        sequenceNode.setProperty(propertyName, values[0]);
+                    else
+                        sequenceNode.setProperty(propertyName, values);
+                }
+            }
+        } finally {
+            stream.close();
+            binary.dispose();
+        }
+    }
+
+    private static Value readValue(DataInputStream input, ValueFactory valueFactory, Node[] nodes, String path) throws Exception {
+        byte type = input.readByte();
+        switch (type) {
+            case BOOLEAN:
+                return valueFactory.createValue(input.readBoolean());
+            case LONG:
+                return valueFactory.createValue(input.readLong());
+            case DOUBLE:
+                return valueFactory.createValue(input.readDouble());
+            case REFERENCE:
+                return valueFactory.createValue(nodes[input.readInt()]);
+            case STRING:
+                return valueFactory.createValue(readString(input));
+            default:
+                throw new IOException(Messages.getString(Messages.TeiidSqlSequencer.InvalidCompactTree, path));
+        }
+    }
+
+    private static String jcrName(Session session, String identifier) throws RepositoryException {
+        // if first character is a '{' then the name is prefixed by the namespace URL
+        if ((identifier.charAt(0) == '{') && (identifier.indexOf('}') != -1)) {
+            final int index = identifier.indexOf('}');
+            return identifier.substring(0, (index + 1)) + session.encode(identifier.substring(index + 1));
+        }
+
+        return session.encode(identifier);
+    }
+}
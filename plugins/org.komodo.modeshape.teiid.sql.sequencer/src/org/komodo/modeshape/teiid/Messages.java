@@ -41,7 +41,8 @@ public class Messages {
     @SuppressWarnings( "javadoc" )
     public enum TeiidSqlSequencer {
         ErrorSequencingContent,
-        ErrorParsingContent;
+        ErrorParsingContent,
+        InvalidCompactTree;
     }
 
     @SuppressWarnings( "javadoc" )
@@ -230,6 +230,9 @@ public class TeiidSqlNodeVisitor extends AbstractNodeVisitor
     }
 
     /**
+     * A {@link CompactSqlTree compact} tree held by the node is visited in a separate session so the
+     * node's session is not modified.
+     *
      * @param node node to be visited
      * @return SQL String representation of the given node
      * @throws Exception if node causes a failure
@@ -239,10 +242,21 @@ public class TeiidSqlNodeVisitor extends AbstractNodeVisitor
             return undefined();
 
         this.builder = new StringBuilder();
-        this.session = node.getSession();
 
-        node.accept(this);
-        return builder.toString();
+        Node compactTree = CompactSqlTree.materializeDetached(node);
+        if (compactTree == null) {
+            this.session = node.getSession();
+            node.accept(this);
+            return builder.toString();
+        }
+
+        try {
+            this.session = compactTree.getSession();
+            compactTree.accept(this);
+            return builder.toString();
+        } finally {
+            compactTree.getSession().logout();
+        }
     }
 
     protected String encode(String path) {
@@ -21,24 +21,36 @@
  */
 package org.komodo.modeshape.teiid;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import javax.jcr.Binary;
 import javax.jcr.NamespaceRegistry;
 import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Value;
 import javax.jcr.ValueFactory;
+import javax.jcr.nodetype.NodeType;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
 import org.komodo.modeshape.teiid.parser.SQQueryParser;
 import org.komodo.modeshape.teiid.sql.lang.ASTNode;
+import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersionProvider;
 import org.komodo.utils.KLog;
@@ -56,10 +68,60 @@ import org.modeshape.jcr.api.sequencer.Sequencer;
  * A sequencer for Teiid SQL files.
  */
 @NotThreadSafe
-public class TeiidSqlSequencer extends Sequencer {
+public class TeiidSqlSequencer extends Sequencer implements StringConstants {
 
     private static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * The parsers of each sequencing thread keyed by teiid version. Parsers are not thread-safe.
+     */
+    private static final ThreadLocal<Map<TeiidVersion, SQQueryParser>> PARSERS = new ThreadLocal<Map<TeiidVersion, SQQueryParser>>() {
+        @Override
+        protected Map<TeiidVersion, SQQueryParser> initialValue() {
+            return new HashMap<TeiidVersion, SQQueryParser>();
+        }
+    };
+
+    /**
+     * Whether the nodes from a previous sequencing of the output node are updated in place
+     * rather than the new {@link ASTNode} tree being appended. Set from the sequencer configuration.
+     */
+    private boolean incremental = true;
+
+    /**
+     * @return <code>true</code> if previously sequenced nodes are updated in place
+     */
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
+    /**
+     * @param incremental <code>true</code> if previously sequenced nodes should be updated in place
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Whether the {@link ASTNode} tree is stored in a single {@link CompactSqlTree compact} binary
+     * property of the output node rather than as jcr nodes. Set from the sequencer configuration.
+     */
+    private boolean compact = false;
+
+    /**
+     * @return <code>true</code> if the sequenced tree is stored as a compact binary property
+     */
+    public boolean isCompact() {
+        return this.compact;
+    }
+
+    /**
+     * @param compact <code>true</code> if the sequenced tree should be stored as a compact binary property
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
     /**
      * @return the teiidVersion
      */
@@ -68,12 +130,22 @@ public class TeiidSqlSequencer extends Sequencer {
     }
 
     /**
-     * Create a query parser for parsing the SQL string
+     * Get the query parser for parsing the SQL string. Parsers reset their state before each
+     * parse so the calling thread's parser for the teiid version is shared by all sequencers
+     * on that thread and kept for the life of the thread.
      *
-     * @return instance of {@link SQQueryParser} for the provided teiid version
+     * @return the calling thread's {@link SQQueryParser} for the provided teiid version
      */
-    protected SQQueryParser createParser() {
-        SQQueryParser queryParser = new SQQueryParser(getTeiidVersion());
+    protected SQQueryParser getParser() {
+        TeiidVersion teiidVersion = getTeiidVersion();
+        Map<TeiidVersion, SQQueryParser> parsers = PARSERS.get();
+
+        SQQueryParser queryParser = parsers.get(teiidVersion);
+        if (queryParser == null) {
+            queryParser = new SQQueryParser(teiidVersion);
+            parsers.put(teiidVersion, queryParser);
+        }
+
         return queryParser;
     }
 
@@ -84,27 +156,57 @@ public class TeiidSqlSequencer extends Sequencer {
 
     @Override
     public boolean execute(Property inputProperty, Node outputNode, Context context) throws Exception {
+        final long start = System.currentTimeMillis();
+
+        try {
+            return sequence(inputProperty, outputNode);
+        } finally {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("TeiidSqlSequencer: sequenced {0} in {1} ms", inputProperty.getPath(), (System.currentTimeMillis() - start)); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private boolean sequence(Property inputProperty, Node outputNode) throws Exception {
         Binary sqlContent = inputProperty.getBinary();
         CheckArg.isNotNull(sqlContent, "teiid sql content binary value"); //$NON-NLS-1$
 
         // Perform the parsing
         final ASTNode rootNode;
-        SQQueryParser parser = createParser();
+        SQQueryParser parser = getParser();
         InputStream stream = sqlContent.getStream();
         try {
             String sql = IoUtil.read(stream);
             rootNode = parser.parseDesignerCommand(sql);
         } catch (ParsingException e) {
+            // thrown rather than returning false so that a sequencing failure event is fired for the job
             LOGGER.error(Messages.getString(Messages.TeiidSqlSequencer.ErrorParsingContent), e, e.getLocalizedMessage());
-            return false;
+            throw e;
         } catch (IOException e) {
             LOGGER.error(Messages.getString(Messages.TeiidSqlSequencer.ErrorSequencingContent), e, e.getLocalizedMessage());
-            return false;
+            throw e;
         } finally {
             stream.close();
         }
 
-        convertASTNode(rootNode, outputNode);
+        if (compact) {
+            // replaces the nodes of any previous sequencing
+            matchChildren(outputNode, Collections.<ASTNode>emptyList(), new IdentityHashMap<ASTNode, Node>());
+
+            byte[] tree = CompactSqlTree.write(rootNode, getTeiidVersion());
+            Binary binary = outputNode.getSession().getValueFactory().createBinary(new ByteArrayInputStream(tree));
+            outputNode.setProperty(CompactSqlTree.PROPERTY_NAME, binary);
+            return true;
+        }
+
+        if (CompactSqlTree.isCompact(outputNode))
+            outputNode.getProperty(CompactSqlTree.PROPERTY_NAME).remove();
+
+        if (incremental)
+            updateASTNode(rootNode, outputNode);
+        else
+            convertASTNode(rootNode, outputNode);
+
         return true;
     }
 
@@ -133,6 +235,220 @@ public class TeiidSqlSequencer extends Sequencer {
         }
     }
 
+    /**
+     * Converts the given {@link ASTNode} to a jcr {@link Node} beneath the given output node,
+     * reusing the nodes of a previous sequencing of the output node. Only the nodes and
+     * properties that differ from the previous sequencing are written.
+     * <p>
+     * A previously sequenced node is reused when it has the same name and teiid sql mixin types as
+     * the ast node in the same position. Previously sequenced nodes that are not reused are removed
+     * and sequenced children are ordered as they would be by a new sequencing.
+     *
+     * @param rootNode ast node to be converted
+     * @param outputNode node to have results updated beneath
+     * @throws RepositoryException if conversion is invalid
+     */
+    public void updateASTNode(final ASTNode rootNode, Node outputNode) throws RepositoryException {
+        Map<ASTNode, Node> reusable = new IdentityHashMap<ASTNode, Node>();
+        matchChildren(outputNode, Collections.singletonList(rootNode), reusable);
+
+        // the parents whose new children are appended after reused ones
+        Map<Node, List<ASTNode>> reorder = new LinkedHashMap<Node, List<ASTNode>>();
+
+        Queue<ASTNode> queue = new LinkedList<ASTNode>();
+        queue.add(rootNode);
+
+        while (queue.peek() != null) {
+            ASTNode astNode = queue.poll();
+            Node sequenceNode = reusable.remove(astNode);
+
+            if (sequenceNode == null) {
+                sequenceNode = createFromASTNode(outputNode, astNode);
+                appendNodeProperties(astNode, sequenceNode);
+            } else {
+                reuseForASTNode(sequenceNode, astNode);
+                updateNodeProperties(astNode, sequenceNode);
+            }
+
+            List<ASTNode> children = new ArrayList<ASTNode>();
+            Iterator<ASTNode> childIter = astNode.getChildren();
+            while(childIter.hasNext()) {
+                children.add(childIter.next());
+            }
+
+            matchChildren(sequenceNode, children, reusable);
+            queue.addAll(children);
+
+            int reused = 0;
+            for (ASTNode child : children) {
+                if (reusable.containsKey(child))
+                    ++reused;
+            }
+
+            if (reused > 0 && reused < children.size())
+                reorder.put(sequenceNode, children);
+        }
+
+        for (Map.Entry<Node, List<ASTNode>> entry : reorder.entrySet()) {
+            orderChildren(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Orders the sequenced children of the given node as their ast nodes are ordered.
+     */
+    private void orderChildren(Node parent, List<ASTNode> astNodes) throws RepositoryException {
+        if (! parent.getPrimaryNodeType().hasOrderableChildNodes())
+            return;
+
+        // moving each child to the end in turn leaves them in ast order
+        for (ASTNode astNode : astNodes) {
+            Node child = astNode.getSequencedNode();
+            parent.orderBefore(child.getName() + OPEN_SQUARE_BRACKET + child.getIndex() + CLOSE_SQUARE_BRACKET, null);
+        }
+    }
+
+    /**
+     * Finds the previously sequenced children of the given node that can be reused for the given ast nodes.
+     * Same-name siblings are matched in order and once one cannot be reused the rest of them are
+     * replaced so that their order is kept. Sequenced children that are not reused are removed.
+     */
+    private void matchChildren(Node parent, List<ASTNode> astNodes, Map<ASTNode, Node> reusable) throws RepositoryException {
+        Map<String, List<Node>> sequenced = new HashMap<String, List<Node>>();
+        NodeIterator nodeIter = parent.getNodes();
+        while (nodeIter.hasNext()) {
+            Node child = nodeIter.nextNode();
+            if (! child.hasProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME))
+                continue;
+
+            List<Node> sameName = sequenced.get(child.getName());
+            if (sameName == null) {
+                sameName = new LinkedList<Node>();
+                sequenced.put(child.getName(), sameName);
+            }
+            sameName.add(child);
+        }
+
+        if (! sequenced.isEmpty()) {
+            Set<String> replacing = new HashSet<String>();
+
+            for (ASTNode astNode : astNodes) {
+                String name = jcrName((Session)parent.getSession(), astNode);
+                List<Node> sameName = sequenced.get(name);
+                if (sameName == null || sameName.isEmpty() || replacing.contains(name))
+                    continue;
+
+                if (hasMixins(sameName.get(0), astNode.getMixins()))
+                    reusable.put(astNode, sameName.remove(0));
+                else
+                    replacing.add(name);
+            }
+
+            for (List<Node> unused : sequenced.values()) {
+                for (Node node : unused) {
+                    node.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares only the teiid sql mixins as other mixins, eg. mode:derived, may have been added to the node.
+     */
+    private boolean hasMixins(Node node, List<String> mixins) throws RepositoryException {
+        String prefix = TeiidSqlLexicon.Namespace.PREFIX + COLON;
+
+        Set<String> nodeMixins = new HashSet<String>();
+        for (NodeType mixin : node.getMixinNodeTypes()) {
+            if (mixin.getName().startsWith(prefix))
+                nodeMixins.add(mixin.getName());
+        }
+
+        Set<String> astMixins = new HashSet<String>();
+        for (String mixin : mixins) {
+            if (mixin.startsWith(prefix))
+                astMixins.add(mixin);
+        }
+
+        return nodeMixins.equals(astMixins);
+    }
+
+    private void reuseForASTNode(Node sequenceNode, ASTNode astNode) throws RepositoryException {
+        astNode.setSequencedNode(sequenceNode);
+        astNode.removeProperty(JcrConstants.JCR_MIXIN_TYPES);
+        astNode.removeProperty(JcrConstants.JCR_PRIMARY_TYPE);
+
+        String teiidVersion = getTeiidVersion().toString();
+        if (! teiidVersion.equals(sequenceNode.getProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME).getString()))
+            sequenceNode.setProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME, teiidVersion);
+    }
+
+    private void updateNodeProperties(ASTNode astNode, Node sequenceNode) throws RepositoryException {
+        ValueFactory valueFactory = sequenceNode.getSession().getValueFactory();
+        List<String> propertyNames = astNode.getPropertyNames();
+
+        for (String propertyName : propertyNames) {
+            Object astNodePropertyValue = astNode.getProperty(propertyName);
+            if (astNodePropertyValue == null) {
+                if (sequenceNode.hasProperty(propertyName))
+                    sequenceNode.setProperty(propertyName, (Value) null);
+                continue;
+            }
+
+            List<Value> valuesList = convertToPropertyValues(astNodePropertyValue, valueFactory);
+            if (hasValues(sequenceNode, propertyName, valuesList))
+                continue;
+
+            if (valuesList.size() == 1) {
+                sequenceNode.setProperty(propertyName, valuesList.get(0));
+            } else {
+                sequenceNode.setProperty(propertyName, valuesList.toArray(new Value[0]));
+            }
+        }
+
+        // remove the properties of the previous sequencing that are no longer set
+        PropertyIterator propIter = sequenceNode.getProperties(TeiidSqlLexicon.Namespace.PREFIX + COLON + STAR);
+        while (propIter.hasNext()) {
+            Property property = propIter.nextProperty();
+            String name = property.getName();
+            if (! propertyNames.contains(name) && ! TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME.equals(name))
+                property.remove();
+        }
+    }
+
+    private boolean hasValues(Node node, String propertyName, List<Value> values) throws RepositoryException {
+        if (! node.hasProperty(propertyName))
+            return false;
+
+        Property property = node.getProperty(propertyName);
+        if (property.isMultiple() == (values.size() == 1))
+            return false;
+
+        Value[] current = property.isMultiple() ? property.getValues() : new Value[] { property.getValue() };
+        if (current.length != values.size())
+            return false;
+
+        for (int i = 0; i < current.length; ++i) {
+            Value value = values.get(i);
+            if (current[i].getType() != value.getType() || ! current[i].getString().equals(value.getString()))
+                return false;
+        }
+
+        return true;
+    }
+
+    private String jcrName(Session session, ASTNode astNode) throws RepositoryException {
+        String jcrName = astNode.astIdentifier();
+        // if first character is a '{' then the name is prefixed by the namespace URL
+        if ((jcrName.charAt(0) == '{') && (jcrName.indexOf('}') != -1)) {
+            final int index = jcrName.indexOf('}');
+            String prefix = session.getNamespacePrefix(jcrName.substring(1, index));
+            return prefix + COLON + session.encode(jcrName.substring(index + 1));
+        }
+
+        return session.encode(jcrName);
+    }
+
     private void appendNodeProperties(ASTNode astNode, Node sequenceNode) throws RepositoryException {
         ValueFactory valueFactory = sequenceNode.getSession().getValueFactory();
 
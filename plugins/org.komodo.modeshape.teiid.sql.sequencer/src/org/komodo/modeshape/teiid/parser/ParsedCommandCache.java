@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.komodo.modeshape.teiid.parser;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.modeshape.teiid.sql.lang.CommandImpl;
+import org.komodo.spi.runtime.version.TeiidVersion;
+
+/**
+ * <p>A bounded, least-recently-used cache of parsed commands keyed by the
+ * normalized SQL text and the teiid version it was parsed with.</p>
+ *
+ * <p>The cache is bounded both by the number of entries and by the total
+ * length of the cached SQL, which is used as a measure of the size of the
+ * parsed command trees. Commands are cloned when added and when returned
+ * so callers are free to modify them.</p>
+ *
+ * <p>Cached commands are bound to a parser owned by the cache, one per teiid
+ * version, rather than the parser that created them, and the clones returned
+ * are bound to the parser of the caller. This stops cached commands keeping
+ * parsers alive and handing one thread's parser to another.
+ * This class is thread-safe.</p>
+ */
+public class ParsedCommandCache {
+
+    /**
+     * The default maximum number of cached commands
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * The default maximum total length of the SQL of the cached commands
+     */
+    public static final long DEFAULT_MAX_SQL_LENGTH = 4 * 1024 * 1024;
+
+    private static class Key {
+
+        private final TeiidVersion teiidVersion;
+
+        private final String sql;
+
+        private final int hash;
+
+        public Key(TeiidVersion teiidVersion, String sql) {
+            this.teiidVersion = teiidVersion;
+            this.sql = sql;
+            this.hash = (31 * teiidVersion.hashCode()) + sql.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+            return (this.hash == other.hash) && this.sql.equals(other.sql) && this.teiidVersion.equals(other.teiidVersion);
+        }
+    }
+
+    private final int maxEntries;
+
+    private final long maxSqlLength;
+
+    /**
+     * Cached commands in least-recently-used order. Guarded by this cache.
+     */
+    private final LinkedHashMap<Key, CommandImpl> commands = new LinkedHashMap<Key, CommandImpl>(16, 0.75f, true);
+
+    private long sqlLength = 0;
+
+    private final ConcurrentMap<TeiidVersion, TeiidSeqParser> cacheParsers = new ConcurrentHashMap<TeiidVersion, TeiidSeqParser>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a cache with the default bounds
+     */
+    public ParsedCommandCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SQL_LENGTH);
+    }
+
+    /**
+     * @param maxEntries maximum number of cached commands
+     * @param maxSqlLength maximum total length of the SQL of the cached commands
+     */
+    public ParsedCommandCache(int maxEntries, long maxSqlLength) {
+        if (maxEntries < 0 || maxSqlLength < 0)
+            throw new IllegalArgumentException();
+
+        this.maxEntries = maxEntries;
+        this.maxSqlLength = maxSqlLength;
+    }
+
+    /**
+     * @param sql the sql text
+     * @return the sql normalized for use as a cache key
+     */
+    private static String normalize(String sql) {
+        return sql.trim();
+    }
+
+    private TeiidSeqParser getCacheParser(TeiidVersion teiidVersion) {
+        TeiidSeqParser parser = cacheParsers.get(teiidVersion);
+        if (parser == null) {
+            parser = new SQQueryParser(teiidVersion).getTeiidParser();
+            TeiidSeqParser previous = cacheParsers.putIfAbsent(teiidVersion, parser);
+            if (previous != null)
+                parser = previous;
+        }
+
+        return parser;
+    }
+
+    /**
+     * @param teiidVersion version of teiid the sql is parsed with
+     * @param sql the sql text
+     * @param parser the parser the returned command is bound to
+     * @return a clone of the cached command or <code>null</code> if not cached
+     */
+    public CommandImpl get(TeiidVersion teiidVersion, String sql, TeiidSeqParser parser) {
+        Key key = new Key(teiidVersion, normalize(sql));
+        CommandImpl command;
+
+        synchronized (this) {
+            command = commands.get(key);
+        }
+
+        if (command == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        CommandImpl clone = command.clone();
+        clone.rebind(parser);
+        return clone;
+    }
+
+    /**
+     * Caches a clone of the given command. Commands whose sql is longer
+     * than the maximum total sql length are not cached.
+     *
+     * @param teiidVersion version of teiid the sql was parsed with
+     * @param sql the sql text
+     * @param command the command parsed from the sql
+     */
+    public void put(TeiidVersion teiidVersion, String sql, CommandImpl command) {
+        Key key = new Key(teiidVersion, normalize(sql));
+        if (key.sql.length() > maxSqlLength || maxEntries == 0)
+            return;
+
+        CommandImpl clone = command.clone();
+        clone.rebind(getCacheParser(teiidVersion));
+
+        synchronized (this) {
+            CommandImpl previous = commands.put(key, clone);
+            if (previous == null)
+                sqlLength += key.sql.length();
+
+            Iterator<Map.Entry<Key, CommandImpl>> iterator = commands.entrySet().iterator();
+            while (iterator.hasNext() && (commands.size() > maxEntries || sqlLength > maxSqlLength)) {
+                Key eldest = iterator.next().getKey();
+                iterator.remove();
+                sqlLength -= eldest.sql.length();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached commands. The hit and miss counts are not reset.
+     */
+    public synchronized void clear() {
+        commands.clear();
+        sqlLength = 0;
+    }
+
+    /**
+     * @return the number of cached commands
+     */
+    public synchronized int size() {
+        return commands.size();
+    }
+
+    /**
+     * @return the number of lookups that found a cached command
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that did not find a cached command
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+}
@@ -50,6 +50,8 @@ import org.komodo.spi.runtime.version.TeiidVersion;
  */
 public class SQQueryParser implements QueryParser, StringConstants {
 
+    private static final ParsedCommandCache COMMAND_CACHE = new ParsedCommandCache();
+
 	private TeiidSeqParser teiidParser;
 
     private final TeiidVersion teiidVersion;
@@ -83,6 +85,13 @@ public class SQQueryParser implements QueryParser, StringConstants {
 	    return teiidParser;
 	}
 
+    /**
+     * @return the cache of designer commands shared by all parsers
+     */
+    public static ParsedCommandCache getCommandCache() {
+        return COMMAND_CACHE;
+    }
+
     /**
      * @return the teiidParser
      */
@@ -160,16 +169,27 @@ public class SQQueryParser implements QueryParser, StringConstants {
 
     /**
      * Takes a SQL string representing a Command and returns the object
-     * representation.
+     * representation. Successfully parsed commands are cached so parsing
+     * the same SQL again returns a clone of the cached command.
      *
      * @param sql SQL string
      * @return SQL object representation
      * @throws Exception if parsing fails
      * @throws IllegalArgumentException if sql is null
+     * @see #getCommandCache()
      */
     @Override
     public CommandImpl parseDesignerCommand(String sql) throws Exception {
-        return parseCommand(sql, new ParseInfo(), true);
+        if (sql != null && sql.length() > 0) {
+            CommandImpl cached = COMMAND_CACHE.get(teiidVersion, sql, getTeiidParser());
+            if (cached != null)
+                return cached;
+        }
+
+        CommandImpl result = parseCommand(sql, new ParseInfo(), true);
+        if (result != null)
+            COMMAND_CACHE.put(teiidVersion, sql, result);
+        return result;
     }
 
 	private CommandImpl parseCommand(String sql, ParseInfo parseInfo, boolean designerCommands) throws Exception {
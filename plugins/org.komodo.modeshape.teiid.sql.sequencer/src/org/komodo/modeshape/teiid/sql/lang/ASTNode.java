@@ -147,6 +147,23 @@ public abstract class ASTNode extends SimpleNode implements BaseLanguageObject,
         this.sequencedNode = sequencedNode;
     }
 
+    /**
+     * Binds this node and all of its descendants to the given parser, eg. so
+     * a cached tree does not keep the parser that created it.
+     *
+     * @param parser teiid parser
+     */
+    public void rebind(TeiidSeqParser parser) {
+        ArgCheck.isNotNull(parser);
+
+        setTeiidParser(parser);
+
+        Iterator<ASTNode> iter = getChildren();
+        while (iter.hasNext()) {
+            iter.next().rebind(parser);
+        }
+    }
+
     /**
      * @return data type service
      */
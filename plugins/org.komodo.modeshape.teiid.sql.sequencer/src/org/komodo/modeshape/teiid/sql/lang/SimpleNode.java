@@ -47,6 +47,10 @@ public abstract class SimpleNode implements Node {
         return parser;
     }
 
+    protected void setTeiidParser(TeiidSeqParser p) {
+        parser = p;
+    }
+
     public TeiidVersion getTeiidVersion() {
         return getTeiidParser().getVersion();
     }
@@ -21,6 +21,7 @@
  */
 package org.komodo.modeshape.visitor;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -80,7 +81,16 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
         EXCLUDE_FUNCTIONS
     }
 
-    private StringBuilder ddlBuffer = new StringBuilder();
+    private final StringBuilder ddlBuffer;
+
+    private final Appendable output;
+
+    private boolean empty = true;
+
+    /**
+     * Nodes keyed by jcr:uuid for resolving constraint references, keyed by mixin type and parent path
+     */
+    private final Map<String, Map<String, Node>> uuidIndexes = new HashMap<String, Map<String, Node>>();
 
     private boolean includeTables = true;
 
@@ -234,11 +244,34 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
 
     /**
      * @param version teiid version
+     * @param startOnNewLine whether the ddl should begin with a new line
      * @param exclusions any items that should be excluded from visiting
      */
     public DdlNodeVisitor(TeiidVersion version, boolean startOnNewLine, VisitorExclusions... exclusions) {
+        this(version, null, startOnNewLine, exclusions);
+    }
+
+    /**
+     * Creates a visitor that writes the ddl to the given output as it visits rather than
+     * holding it for {@link #getDdl()}. Failures to write to the output are reported as
+     * {@link RepositoryException}s from {@link #visit(Node)}.
+     *
+     * @param version teiid version
+     * @param output the output the ddl is written to (can be <code>null</code> if the ddl should be held for {@link #getDdl()})
+     * @param startOnNewLine whether the ddl should begin with a new line
+     * @param exclusions any items that should be excluded from visiting
+     */
+    public DdlNodeVisitor(TeiidVersion version, Appendable output, boolean startOnNewLine, VisitorExclusions... exclusions) {
         super(version);
 
+        if (output == null) {
+            this.ddlBuffer = new StringBuilder();
+            this.output = this.ddlBuffer;
+        } else {
+            this.ddlBuffer = null;
+            this.output = output;
+        }
+
         if (exclusions != null) {
             for (VisitorExclusions exclusion : exclusions) {
                 switch (exclusion) {
@@ -255,14 +288,23 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
             }
         }
         if( startOnNewLine ) {
-        	ddlBuffer.append(NEW_LINE);
+            try {
+                this.output.append(NEW_LINE);
+                this.empty = false;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
         }
     }
 
     /**
      * @return the complete visited ddl string
+     * @throws IllegalStateException if the ddl was written to a supplied output
      */
     public String getDdl() {
+        if (ddlBuffer == null)
+            throw new IllegalStateException();
+
         return ddlBuffer.toString();
     }
 
@@ -271,13 +313,23 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
         return UNDEFINED;
     }
 
-    private DdlNodeVisitor append(Object o) {
-        if (NEW_LINE.equals(o) && ddlBuffer.length() == 0) {
+    private DdlNodeVisitor append(Object o) throws RepositoryException {
+        if (NEW_LINE.equals(o) && empty) {
             // Ignore new line calls at the start of the whole text
             return this;
         }
 
-        ddlBuffer.append(o);
+        String value = String.valueOf(o);
+
+        try {
+            output.append(value);
+        } catch (IOException e) {
+            throw new RepositoryException(e);
+        }
+
+        if (! value.isEmpty())
+            empty = false;
+
         return this;
     }
 
@@ -553,24 +605,41 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
         statementOptions(tableElement, SPACE);
     }
 
-    private Node referenceByUuid(Collection<Node> nodes, Value uuidValue) throws ValueFormatException, RepositoryException {
-        String reference  = uuidValue.getString();
-        Node referenceNode = null;
+    /**
+     * @param parent the parent of the indexed nodes (can be <code>null</code>)
+     * @param mixinTypeId the mixin type of the indexed nodes or <code>null</code> for all children
+     * @return the children of the parent keyed by their jcr:uuid (never <code>null</code>)
+     * @throws RepositoryException if an error occurs
+     */
+    private Map<String, Node> uuidIndex(Node parent, String mixinTypeId) throws RepositoryException {
+        if (parent == null)
+            return Collections.emptyMap();
+
+        // mixin type ids cannot contain a '/' and paths start with one so the key is unique
+        String key = (mixinTypeId == null ? EMPTY_STRING : mixinTypeId) + parent.getPath();
+        Map<String, Node> index = uuidIndexes.get(key);
+        if (index != null)
+            return index;
 
-        for (Node node : nodes) {
+        Collection<Node> children = (mixinTypeId == null) ? getChildren(parent) : getChildren(parent, mixinTypeId);
+        index = new HashMap<String, Node>(children.size());
+
+        for (Node node : children) {
             Property uuidProp = property(node, JcrLexicon.UUID.getString());
             if (uuidProp == null)
                 continue;
 
             String uuid = toString(uuidProp);
-            if (! reference.equals(uuid))
-                continue;
-
-            referenceNode = node;
-            break;
+            if (! index.containsKey(uuid))
+                index.put(uuid, node);
         }
 
-        return referenceNode;
+        uuidIndexes.put(key, index);
+        return index;
+    }
+
+    private Node referenceByUuid(Map<String, Node> index, Value uuidValue) throws ValueFormatException, RepositoryException {
+        return index.get(uuidValue.getString());
     }
 
     private void constraint(Node constraint, String expectedType) throws RepositoryException {
@@ -580,10 +649,10 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
         append(COMMA).append(NEW_LINE).append(TAB);
 
         Node parentTabulation = constraint.getParent();
-        Collection<Node> siblingColumnNodes = getChildren(parentTabulation, TeiidDdlLexicon.CreateTable.TABLE_ELEMENT);
+        Map<String, Node> siblingColumnNodes = uuidIndex(parentTabulation, TeiidDdlLexicon.CreateTable.TABLE_ELEMENT);
 
         Node parentSchema = parentTabulation.getParent();
-        Collection<Node> tabulations = getChildren(parentSchema);
+        Map<String, Node> tabulations = uuidIndex(parentSchema, null);
 
         Property typeProp = property(constraint, TeiidDdlLexicon.Constraint.TYPE);
         append(toString(typeProp));
@@ -614,11 +683,11 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
 
             Property tableRefProp = property(constraint, TeiidDdlLexicon.Constraint.TABLE_REFERENCE);
             Node tableReference = null;
-            Collection<Node> tableRefChildren = Collections.emptyList();
+            Map<String, Node> tableRefChildren = Collections.emptyMap();
 
             if (tableRefProp != null) {
                 tableReference = referenceByUuid(tabulations, tableRefProp.getValue());
-                tableRefChildren = getChildren(tableReference, TeiidDdlLexicon.CreateTable.TABLE_ELEMENT);
+                tableRefChildren = uuidIndex(tableReference, TeiidDdlLexicon.CreateTable.TABLE_ELEMENT);
                 append(SPACE).append(tableReference == null ? undefined() : tableReference.getName());
             }
 
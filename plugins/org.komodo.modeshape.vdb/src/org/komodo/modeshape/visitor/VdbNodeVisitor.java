@@ -21,6 +21,7 @@
  */
 package org.komodo.modeshape.visitor;
 
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +36,7 @@ import javax.jcr.RepositoryException;
 import javax.jcr.Value;
 import javax.jcr.nodetype.NodeType;
 import javax.lang.model.element.ElementVisitor;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
@@ -185,6 +187,20 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
         this.writer = writer;
     }
 
+    /**
+     * Create new visitor that streams the UTF-8 encoded xml directly to the given output stream
+     * without holding the document in memory. The stream is flushed, but not closed, once the
+     * document has been written. Wrap a channel using {@link java.nio.channels.Channels#newOutputStream}
+     * to write to a channel.
+     *
+     * @param version teiid version
+     * @param stream output for the xml
+     * @throws XMLStreamException if an xml writer cannot be created for the stream
+     */
+    public VdbNodeVisitor(TeiidVersion version, OutputStream stream) throws XMLStreamException {
+        this(version, XMLOutputFactory.newInstance().createXMLStreamWriter(stream, "UTF-8")); //$NON-NLS-1$
+    }
+
     @Override
     protected String undefined() {
         return UNDEFINED;
@@ -244,6 +260,7 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
 
     private void writeEndDocument() throws XMLStreamException {
         writer.writeEndDocument();
+        writer.flush();
         writer.close();
     }
 
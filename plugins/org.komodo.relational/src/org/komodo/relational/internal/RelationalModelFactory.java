@@ -7,7 +7,12 @@
  */
 package org.komodo.relational.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.komodo.core.KomodoLexicon;
+import org.komodo.relational.RelationalConstants.Nullable;
 import org.komodo.relational.model.AbstractProcedure;
 import org.komodo.relational.model.AccessPattern;
 import org.komodo.relational.model.Column;
@@ -89,6 +94,114 @@ import org.modeshape.sequencer.teiid.lexicon.VdbLexicon;
  */
 public final class RelationalModelFactory {
 
+    /**
+     * Describes a column to be created by {@link RelationalModelFactory#createColumns(UnitOfWork, Repository, Table, List)}.
+     */
+    public static final class ColumnSpec {
+
+        private final String name;
+        private final Map< String, Object[] > properties = new LinkedHashMap< String, Object[] >();
+
+        /**
+         * @param columnName
+         *        the name of the column (cannot be empty)
+         */
+        public ColumnSpec( final String columnName ) {
+            ArgCheck.isNotEmpty(columnName, "columnName"); //$NON-NLS-1$
+            this.name = columnName;
+        }
+
+        /**
+         * @return the column name (never empty)
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return the property values keyed by JCR property name (never <code>null</code> but can be empty)
+         */
+        public Map< String, Object[] > getProperties() {
+            return Collections.unmodifiableMap(this.properties);
+        }
+
+        /**
+         * @param newTypeName
+         *        the new datatype name (can be empty)
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setDatatypeName( final String newTypeName ) {
+            return setProperty(StandardDdlLexicon.DATATYPE_NAME, newTypeName);
+        }
+
+        /**
+         * @param newDefaultValue
+         *        the new default value (can be empty)
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setDefaultValue( final String newDefaultValue ) {
+            return setProperty(StandardDdlLexicon.DEFAULT_VALUE, newDefaultValue);
+        }
+
+        /**
+         * @param newLength
+         *        the new length
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setLength( final long newLength ) {
+            return setProperty(StandardDdlLexicon.DATATYPE_LENGTH, newLength);
+        }
+
+        /**
+         * @param newNullable
+         *        the new nullable value (can be <code>null</code> if the default value should be used)
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setNullable( final Nullable newNullable ) {
+            return setProperty(StandardDdlLexicon.NULLABLE,
+                               (newNullable == null) ? Nullable.DEFAULT_VALUE.toValue() : newNullable.toValue());
+        }
+
+        /**
+         * @param newPrecision
+         *        the new precision
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setPrecision( final int newPrecision ) {
+            return setProperty(StandardDdlLexicon.DATATYPE_PRECISION, newPrecision);
+        }
+
+        /**
+         * @param propertyName
+         *        the JCR name of the property being set (cannot be empty)
+         * @param values
+         *        the new value(s) (can be <code>null</code> or empty if the property should not be set)
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setProperty( final String propertyName,
+                                       final Object... values ) {
+            ArgCheck.isNotEmpty(propertyName, "propertyName"); //$NON-NLS-1$
+
+            if ((values == null) || (values.length == 0) || ((values.length == 1) && (values[0] == null))) {
+                this.properties.remove(propertyName);
+            } else {
+                this.properties.put(propertyName, values);
+            }
+
+            return this;
+        }
+
+        /**
+         * @param newScale
+         *        the new scale
+         * @return this spec (never <code>null</code>)
+         */
+        public ColumnSpec setScale( final int newScale ) {
+            return setProperty(StandardDdlLexicon.DATATYPE_SCALE, newScale);
+        }
+
+    }
+
     /**
      * @param uow
      *        the transaction (can be <code>null</code> if update should be automatically committed)
@@ -180,6 +293,67 @@ public final class RelationalModelFactory {
         }
     }
 
+    /**
+     * Creates many columns under one table in a single pass. The table is only resolved once, all the properties of each column
+     * are set as it is created, and, since the factory types each column itself, the columns are not read back to validate
+     * their type. Use this instead of repeated calls to {@link #createColumn(UnitOfWork, Repository, Table, String)} when
+     * importing or generating wide tables.
+     *
+     * @param uow
+     *        the transaction (can be <code>null</code> if update should be automatically committed)
+     * @param repository
+     *        the repository where the model objects will be created (cannot be <code>null</code>)
+     * @param table
+     *        the table where the columns are being created (cannot be <code>null</code>)
+     * @param columnSpecs
+     *        the descriptions of the columns to create (cannot be <code>null</code> but can be empty)
+     * @return the column model objects in the order of the specs (never <code>null</code> but can be empty)
+     * @throws KException
+     *         if an error occurs
+     */
+    public static Column[] createColumns( final UnitOfWork uow,
+                                          final Repository repository,
+                                          final Table table,
+                                          final List< ColumnSpec > columnSpecs ) throws KException {
+        ArgCheck.isNotNull(repository, "repository"); //$NON-NLS-1$
+        ArgCheck.isNotNull(table, "table"); //$NON-NLS-1$
+        ArgCheck.isNotNull(columnSpecs, "columnSpecs"); //$NON-NLS-1$
+
+        UnitOfWork transaction = uow;
+
+        if (uow == null) {
+            transaction = repository.createTransaction("relationalmodelfactory-createColumns", false, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        try {
+            final Column[] result = new Column[ columnSpecs.size() ];
+            int i = 0;
+
+            for (final ColumnSpec spec : columnSpecs) {
+                ArgCheck.isNotNull(spec, "spec"); //$NON-NLS-1$
+
+                final KomodoObject kobject = table.addChild(transaction, spec.getName(), null);
+                kobject.addDescriptor(transaction, CreateTable.TABLE_ELEMENT);
+
+                for (final Map.Entry< String, Object[] > property : spec.getProperties().entrySet()) {
+                    kobject.setProperty(transaction, property.getKey(), property.getValue());
+                }
+
+                result[i++] = new ColumnImpl(transaction, repository, kobject.getAbsolutePath(), false);
+            }
+
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
     /**
      * @param uow
      *        the transaction (can be <code>null</code> if update should be automatically committed)
@@ -11,6 +11,7 @@ import org.komodo.relational.model.RelationalObject;
 import org.komodo.repository.Messages;
 import org.komodo.repository.Messages.Komodo;
 import org.komodo.repository.ObjectImpl;
+import org.komodo.repository.TypeResolutionCache;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
@@ -24,6 +25,11 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
 
     private static TypeResolverRegistry _resolverRegistry;
 
+    /**
+     * The resolvers that last resolved an object, keyed by the object's type key.
+     */
+    private static final TypeResolutionCache<TypeResolver> RESOLVER_CACHE = new TypeResolutionCache<TypeResolver>();
+
     protected static final KLog LOGGER = KLog.getLogger();
 
     /**
@@ -41,8 +47,34 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
                                     final Repository repository,
                                     final String path,
                                     final int index ) throws KException {
+        this(uow, repository, path, index, VALIDATE_INITIAL_STATE);
+    }
+
+    /**
+     * @param uow
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @param repository
+     *        the repository where the relational object exists (cannot be <code>null</code>)
+     * @param path
+     *        the relational object's workspace path (cannot be empty)
+     * @param index
+     *        the relational object's same-name-sibling index
+     * @param validateInitialState
+     *        <code>true</code> if the initial state should be validated. Only pass <code>false</code> when the caller has just
+     *        created and typed the node itself.
+     * @throws KException
+     *         if validating and an error occurs or the node is not of the right type
+     */
+    protected RelationalObjectImpl( final UnitOfWork uow,
+                                    final Repository repository,
+                                    final String path,
+                                    final int index,
+                                    final boolean validateInitialState ) throws KException {
         super(repository, path, index);
-        internalValidateInitialState(uow, this);
+
+        if (validateInitialState) {
+            internalValidateInitialState(uow, this);
+        }
     }
 
     /**
@@ -116,7 +148,7 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
 
         try {
             KomodoObject[] result = null;
-            final KomodoObject[] kobjects = super.getChildrenOfType(uow, type);
+            final KomodoObject[] kobjects = super.getChildrenOfType(transaction, type);
 
             if (kobjects.length == 0) {
                 result = kobjects;
@@ -125,7 +157,7 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
                 int i = 0;
 
                 for (final KomodoObject kobject : kobjects) {
-                    result[i++] = resolveType(uow, kobject);
+                    result[i++] = resolveType(transaction, kobject);
                 }
             }
 
@@ -155,10 +187,14 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
         assert (transaction != null);
 
         try {
-            KomodoObject result = super.getParent(uow);
+            KomodoObject result = super.getParent(transaction);
 
             if (result != null) {
-                result = resolveType(uow, result);
+                result = resolveType(transaction, result);
+            }
+
+            if (uow == null) {
+                transaction.commit();
             }
 
             return result;
@@ -197,22 +233,48 @@ public abstract class RelationalObjectImpl extends ObjectImpl implements Relatio
 
     protected KomodoObject resolveType( final UnitOfWork transaction,
                                         final KomodoObject kobject ) throws KException {
-        TypeResolver resolver = getResolverRegistry().getResolver(kobject.getTypeIdentifier(transaction));
+        // resolvers can depend on property values so a cached resolver is still checked
+        final String typeKey = ( ( kobject instanceof ObjectImpl ) ? ( ( ObjectImpl )kobject ).getTypeKey( transaction ) : null );
+        TypeResolver resolver = ( ( typeKey == null ) ? null : RESOLVER_CACHE.get( typeKey ) );
         if (resolver != null && resolver.resolvable(transaction, kobject))
             return resolver.resolve(transaction, kobject);
 
+        resolver = getResolverRegistry().getResolver(kobject.getTypeIdentifier(transaction));
+        if (resolver != null && resolver.resolvable(transaction, kobject))
+            return resolve(transaction, kobject, typeKey, resolver);
+
+        // Try the resolvers of the object's primary type and mixins
+        if (kobject instanceof ObjectImpl) {
+            for (final TypeResolver aResolver : getResolverRegistry().getResolvers(( ( ObjectImpl )kobject ).getTypeNames(transaction))) {
+                if (aResolver.resolvable(transaction, kobject)) {
+                    return resolve(transaction, kobject, typeKey, aResolver);
+                }
+            }
+        }
+
         // Failed with the type identifier so try to be safe than sorry
         // and iterate through all resolvers to check this object is really
         // not resolvable.
         for (final TypeResolver aResolver : getResolverRegistry().getResolvers()) {
             if (aResolver.resolvable(transaction, kobject)) {
-                return aResolver.resolve(transaction, kobject);
+                return resolve(transaction, kobject, typeKey, aResolver);
             }
         }
 
         return kobject;
     }
 
+    private KomodoObject resolve( final UnitOfWork transaction,
+                                  final KomodoObject kobject,
+                                  final String typeKey,
+                                  final TypeResolver resolver ) throws KException {
+        if (typeKey != null) {
+            RESOLVER_CACHE.put(typeKey, resolver);
+        }
+
+        return resolver.resolve(transaction, kobject);
+    }
+
     /**
      * {@inheritDoc}
      *
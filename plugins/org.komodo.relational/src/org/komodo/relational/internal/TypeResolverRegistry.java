@@ -21,9 +21,11 @@
  */
 package org.komodo.relational.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.komodo.relational.model.AccessPattern;
 import org.komodo.relational.model.internal.AccessPatternImpl;
@@ -55,6 +57,8 @@ import org.komodo.relational.vdb.internal.PermissionImpl;
 import org.komodo.relational.vdb.internal.TranslatorImpl;
 import org.komodo.relational.vdb.internal.VdbImpl;
 import org.komodo.relational.vdb.internal.VdbImportImpl;
+import org.komodo.repository.KomodoTypeRegistry;
+import org.komodo.repository.KomodoTypeRegistry.TypeIdentifier;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.utils.KeyInValueHashMap;
@@ -90,6 +94,8 @@ public class TypeResolverRegistry {
     private Map<Class<? extends KomodoObject>, TypeResolver> kClassIndex =
                     new HashMap<Class<? extends KomodoObject>, TypeResolver>();
 
+    private Map<String, List<TypeResolver>> lexiconTypeIndex = new HashMap<String, List<TypeResolver>>();
+
     private TypeResolverRegistry() {
 
         index(KomodoType.ACCESS_PATTERN, AccessPatternImpl.RESOLVER);
@@ -154,6 +160,18 @@ public class TypeResolverRegistry {
     private void index(KomodoType kType, TypeResolver resolver) {
         kTypeIndex.add(resolver);
 
+        // Indexes the lexicon type, which is the node type or mixin the resolver validates
+        TypeIdentifier identifier = KomodoTypeRegistry.getInstance().getIdentifier(kType);
+        if (identifier != null) {
+            List<TypeResolver> resolvers = lexiconTypeIndex.get(identifier.getLexiconType());
+            if (resolvers == null) {
+                resolvers = new ArrayList<TypeResolver>(2);
+                lexiconTypeIndex.put(identifier.getLexiconType(), resolvers);
+            }
+
+            resolvers.add(resolver);
+        }
+
         // Indexes the impl class
         Class<? extends KomodoObject> owningClass = resolver.owningClass();
         kClassIndex.put(owningClass, resolver);
@@ -186,6 +204,30 @@ public class TypeResolverRegistry {
         return kTypeIndex.get(kType);
     }
 
+    /**
+     * @param typeNames the names of an object's primary type and mixins
+     * @return the resolvers whose lexicon type is one of the given types (never null)
+     */
+    public List<TypeResolver> getResolvers(String... typeNames) {
+        List<TypeResolver> result = null;
+
+        for (String typeName : typeNames) {
+            List<TypeResolver> resolvers = lexiconTypeIndex.get(typeName);
+            if (resolvers == null)
+                continue;
+
+            if (result == null)
+                result = new ArrayList<TypeResolver>(resolvers);
+            else
+                result.addAll(resolvers);
+        }
+
+        if (result == null)
+            return Collections.emptyList();
+
+        return result;
+    }
+
     /**
      * @param kClass the resolver owning class or its interface, eg. {@link AccessPatternImpl} or {@link AccessPattern}
      * @return the {@link TypeResolver} for the given komodo class
@@ -7,15 +7,18 @@
  */
 package org.komodo.relational.model;
 
+import java.io.Writer;
+import java.util.Properties;
 import org.komodo.relational.vdb.ModelSource;
 import org.komodo.spi.KException;
+import org.komodo.spi.repository.Exportable;
 import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 
 /**
  * Represents a relational model.
  */
-public interface Model extends RelationalObject {
+public interface Model extends Exportable, RelationalObject {
 
     /**
      * The type identifier.
@@ -131,6 +134,22 @@ public interface Model extends RelationalObject {
     View addView( final UnitOfWork transaction,
                   final String viewName ) throws KException;
 
+    /**
+     * Writes the DDL of this model directly to the supplied writer as it is generated. Use this instead of
+     * {@link #export(UnitOfWork, Properties)} for models whose DDL is large.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @param writer
+     *        the writer the DDL is written to (cannot be <code>null</code>). The writer is flushed but not closed.
+     * @param properties (can be <code>null</code> or empty)
+     * @throws KException
+     *         if an error occurs
+     */
+    void export( final UnitOfWork transaction,
+                 final Writer writer,
+                 final Properties properties ) throws KException;
+
     /**
      * @param transaction
      *        the transaction (can be <code>null</code> if query should be automatically committed)
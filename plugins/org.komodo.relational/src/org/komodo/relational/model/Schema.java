@@ -21,6 +21,8 @@
  */
 package org.komodo.relational.model;
 
+import java.io.Writer;
+import java.util.Properties;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.Exportable;
 import org.komodo.spi.repository.KomodoType;
@@ -46,6 +48,20 @@ public interface Schema extends RelationalObject, Exportable {
      */
     Schema[] NO_SCHEMAS = new Schema[0];
 
+    /**
+     * Writes the DDL of this schema directly to the supplied writer as it is generated. Use this instead of
+     * {@link #export(UnitOfWork, Properties)} for schemas whose DDL is large.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @param writer
+     *        the writer the DDL is written to (cannot be <code>null</code>). The writer is flushed but not closed.
+     * @param properties (can be <code>null</code> or empty)
+     * @throws KException
+     *         if an error occurs
+     */
+    void export(UnitOfWork transaction, Writer writer, Properties properties) throws KException;
+
     /**
      * @param transaction
      *        the transaction (can be <code>null</code> if query should be automatically committed)
@@ -152,6 +152,27 @@ public final class ColumnImpl extends RelationalObjectImpl implements Column {
         super(uow, repository, workspacePath);
     }
 
+    /**
+     * Used by {@link RelationalModelFactory} when it has just created and typed the column node.
+     *
+     * @param uow
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @param repository
+     *        the repository where the relational object exists (cannot be <code>null</code>)
+     * @param workspacePath
+     *        the workspace relative path (cannot be empty)
+     * @param validateInitialState
+     *        <code>false</code> if the column's type does not need to be read back and checked
+     * @throws KException
+     *         if validating and an error occurs or the node is not a column
+     */
+    public ColumnImpl( final UnitOfWork uow,
+                       final Repository repository,
+                       final String workspacePath,
+                       final boolean validateInitialState ) throws KException {
+        super(uow, repository, workspacePath, 0, validateInitialState);
+    }
+
     @Override
     public KomodoType getTypeIdentifier(UnitOfWork uow) {
         return RESOLVER.identifier();
@@ -7,9 +7,13 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import org.komodo.core.KomodoLexicon;
+import org.komodo.modeshape.visitor.DdlNodeVisitor;
 import org.komodo.relational.Messages.Relational;
 import org.komodo.relational.RelationalProperties;
 import org.komodo.relational.internal.AdapterFactory;
@@ -29,6 +33,7 @@ import org.komodo.relational.model.VirtualProcedure;
 import org.komodo.relational.vdb.ModelSource;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.internal.ModelSourceImpl;
+import org.komodo.repository.ExportCache;
 import org.komodo.repository.ObjectImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.Messages;
@@ -38,6 +43,7 @@ import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.PropertyValueType;
+import org.komodo.spi.runtime.version.TeiidVersionProvider;
 import org.komodo.utils.ArgCheck;
 import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlLexicon.CreateProcedure;
 import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlLexicon.CreateTable;
@@ -50,6 +56,8 @@ import org.modeshape.sequencer.teiid.lexicon.VdbLexicon;
  */
 public final class ModelImpl extends RelationalObjectImpl implements Model {
 
+    private static final String DDL_EXPORT = "ddl:"; //$NON-NLS-1$
+
     /**
      * The resolver of a {@link Model}.
      */
@@ -415,6 +423,88 @@ public final class ModelImpl extends RelationalObjectImpl implements Model {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties)
+     */
+    @Override
+    public String export( final UnitOfWork uow,
+                          final Properties properties ) throws KException {
+        UnitOfWork transaction = uow;
+
+        if ( transaction == null ) {
+            transaction = getRepository().createTransaction( "modelimpl-exportToString", true, null ); //$NON-NLS-1$
+        }
+
+        assert ( transaction != null );
+
+        try {
+            // cached against the parent VDB as the DDL can reference objects in other models of the VDB
+            final ExportCache cache = getExportCache( transaction );
+            final KomodoObject parent = getParent( transaction );
+            final String cachePath = ( ( parent == null ) ? getAbsolutePath() : parent.getAbsolutePath() );
+            final String key = ExportCache.key( DDL_EXPORT + TeiidVersionProvider.getInstance().getTeiidVersion() + getAbsolutePath(),
+                                                properties );
+            String result = ( ( cache == null ) ? null : cache.get( cachePath, key ) );
+
+            if ( result == null ) {
+                final long stamp = ( ( cache == null ) ? 0 : cache.stamp() );
+                final StringWriter writer = new StringWriter();
+                export( transaction, writer, properties );
+                result = writer.toString();
+
+                if ( cache != null ) {
+                    cache.put( cachePath, key, stamp, result );
+                }
+            }
+
+            if ( uow == null ) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch ( final Exception e ) {
+            throw handleError( uow, transaction, e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.relational.model.Model#export(org.komodo.spi.repository.Repository.UnitOfWork, java.io.Writer,
+     *      java.util.Properties)
+     */
+    @Override
+    public void export( final UnitOfWork uow,
+                        final Writer writer,
+                        final Properties properties ) throws KException {
+        ArgCheck.isNotNull( writer, "writer" ); //$NON-NLS-1$
+        UnitOfWork transaction = uow;
+
+        if ( transaction == null ) {
+            transaction = getRepository().createTransaction( "modelimpl-export", true, null ); //$NON-NLS-1$
+        }
+
+        assert ( transaction != null );
+
+        if ( LOGGER.isDebugEnabled() ) {
+            LOGGER.debug( "modelimpl-export: transaction = {0}", transaction.getName() ); //$NON-NLS-1$
+        }
+
+        try {
+            final DdlNodeVisitor visitor = new DdlNodeVisitor( TeiidVersionProvider.getInstance().getTeiidVersion(), writer, false );
+            visitor.visit( node( transaction ) );
+            writer.flush();
+
+            if ( uow == null ) {
+                transaction.commit();
+            }
+        } catch ( final Exception e ) {
+            throw handleError( uow, transaction, e );
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -21,6 +21,8 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Properties;
 
 import javax.jcr.Node;
@@ -32,6 +34,7 @@ import org.komodo.relational.internal.RelationalModelFactory;
 import org.komodo.relational.internal.RelationalObjectImpl;
 import org.komodo.relational.internal.TypeResolver;
 import org.komodo.relational.model.Schema;
+import org.komodo.repository.ExportCache;
 import org.komodo.repository.ObjectImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
@@ -40,12 +43,15 @@ import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.PropertyValueType;
 import org.komodo.spi.runtime.version.TeiidVersionProvider;
+import org.komodo.utils.ArgCheck;
 
 /**
  * A named schema fragment
  */
 public class SchemaImpl extends RelationalObjectImpl implements Schema {
 
+    private static final String DDL_EXPORT = "ddl:"; //$NON-NLS-1$
+
     /**
      * The resolver of a {@link Schema}.
      */
@@ -168,7 +174,44 @@ public class SchemaImpl extends RelationalObjectImpl implements Schema {
 
     @Override
     public String export(UnitOfWork uow, Properties properties) throws KException {
-        // Is there a situation where this schema fragment is just Teiid SQL?
+        UnitOfWork transaction = uow;
+
+        if (transaction == null) {
+            transaction = getRepository().createTransaction("schemaimpl-exportToString", true, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        try {
+            ExportCache cache = getExportCache(transaction);
+            String key = ExportCache.key(DDL_EXPORT + TeiidVersionProvider.getInstance().getTeiidVersion(), properties);
+            String result = ((cache == null) ? null : cache.get(getAbsolutePath(), key));
+
+            if (result == null) {
+                // Is there a situation where this schema fragment is just Teiid SQL?
+                long stamp = ((cache == null) ? 0 : cache.stamp());
+                StringWriter writer = new StringWriter();
+                export(transaction, writer, properties);
+                result = writer.toString();
+
+                if (cache != null) {
+                    cache.put(getAbsolutePath(), key, stamp, result);
+                }
+            }
+
+            if (uow == null) {
+                transaction.commit();
+            }
+
+            return result;
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
+    @Override
+    public void export(UnitOfWork uow, Writer writer, Properties properties) throws KException {
+        ArgCheck.isNotNull(writer, "writer"); //$NON-NLS-1$
         UnitOfWork transaction = uow;
 
         if (transaction == null) {
@@ -182,18 +225,15 @@ public class SchemaImpl extends RelationalObjectImpl implements Schema {
         }
 
         try {
-            StringBuffer result = new StringBuffer();
             Node schemaNode = node(transaction);
 
-            DdlNodeVisitor visitor = new DdlNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), false);
+            DdlNodeVisitor visitor = new DdlNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), writer, false);
             visitor.visit(schemaNode);
-            result.append(visitor.getDdl());
+            writer.flush();
 
             if (uow == null) {
                 transaction.commit();
             }
-
-            return result.toString();
         } catch (final Exception e) {
             throw handleError(uow, transaction, e);
         }
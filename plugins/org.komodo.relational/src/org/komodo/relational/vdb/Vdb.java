@@ -7,6 +7,7 @@
  */
 package org.komodo.relational.vdb;
 
+import java.io.OutputStream;
 import java.util.Properties;
 
 import org.komodo.relational.model.Model;
@@ -137,6 +138,23 @@ public interface Vdb extends Exportable, RelationalObject {
      */
     VdbManifest createManifest( final UnitOfWork transaction, Properties properties ) throws KException;
 
+    /**
+     * Writes the VDB XML manifest directly to the supplied stream without building the manifest in memory. Use this instead of
+     * {@link #export(UnitOfWork, Properties)} for VDBs whose model definitions are large.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @param stream
+     *        the stream the UTF-8 encoded manifest is written to (cannot be <code>null</code>). The stream is flushed but not
+     *        closed.
+     * @param properties (can be <code>null</code> or empty)
+     * @throws KException
+     *         if an error occurs
+     */
+    void export( final UnitOfWork transaction,
+                 final OutputStream stream,
+                 final Properties properties ) throws KException;
+
     /**
      * @param transaction
      *        the transaction (can be <code>null</code> if query should be automatically committed)
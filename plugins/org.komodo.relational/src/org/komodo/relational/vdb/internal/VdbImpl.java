@@ -7,6 +7,7 @@
  */
 package org.komodo.relational.vdb.internal;
 
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -32,6 +33,7 @@ import org.komodo.relational.vdb.Entry;
 import org.komodo.relational.vdb.Translator;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.VdbImport;
+import org.komodo.repository.ExportCache;
 import org.komodo.repository.ObjectImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.ExportConstants;
@@ -51,6 +53,8 @@ import org.xml.sax.InputSource;
  */
 public final class VdbImpl extends RelationalObjectImpl implements Vdb {
 
+    private static final String MANIFEST_EXPORT = "vdbManifest:"; //$NON-NLS-1$
+
     private class VdbManifestImpl implements VdbManifest {
 
         private final String xml;
@@ -64,10 +68,7 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
                 final XMLStreamWriter xsw = xof.createXMLStreamWriter(writer);
 
                 final VdbNodeVisitor visitor = new VdbNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), xsw);
-                if( exportProperties != null && !exportProperties.isEmpty() ) {
-                	boolean useTabs = exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY);
-                	visitor.setShowTabs(useTabs);
-                }
+                configure(visitor, exportProperties);
                 visitor.visit(vdb.node(transaction));
             } catch (final Exception e) {
                 throw new KException(e);
@@ -124,6 +125,13 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
 
     }
 
+    private static void configure( final VdbNodeVisitor visitor,
+                                   final Properties exportProperties ) {
+        if ((exportProperties != null) && !exportProperties.isEmpty()) {
+            visitor.setShowTabs(exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY));
+        }
+    }
+
     /**
      * The resolver of a {@link Vdb}.
      */
@@ -458,7 +466,19 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
         }
 
         try {
-            final String result = createManifest(transaction, properties).export(transaction, properties);
+            final ExportCache cache = getExportCache(transaction);
+            final String key = ExportCache.key(MANIFEST_EXPORT + TeiidVersionProvider.getInstance().getTeiidVersion(),
+                                               properties);
+            String result = ((cache == null) ? null : cache.get(getAbsolutePath(), key));
+
+            if (result == null) {
+                final long stamp = ((cache == null) ? 0 : cache.stamp());
+                result = createManifest(transaction, properties).export(transaction, properties);
+
+                if (cache != null) {
+                    cache.put(getAbsolutePath(), key, stamp, result);
+                }
+            }
 
             if (uow == null) {
                 transaction.commit();
@@ -470,6 +490,43 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.relational.vdb.Vdb#export(org.komodo.spi.repository.Repository.UnitOfWork, java.io.OutputStream,
+     *      java.util.Properties)
+     */
+    @Override
+    public void export( final UnitOfWork uow,
+                        final OutputStream stream,
+                        final Properties properties ) throws KException {
+        ArgCheck.isNotNull(stream, "stream"); //$NON-NLS-1$
+        UnitOfWork transaction = uow;
+
+        if (transaction == null) {
+            transaction = getRepository().createTransaction("vdbimpl-exportToStream", true, null); //$NON-NLS-1$
+        }
+
+        assert (transaction != null);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("vdbimpl-exportToStream: transaction = {0}", transaction.getName()); //$NON-NLS-1$
+        }
+
+        try {
+            final VdbNodeVisitor visitor = new VdbNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), stream);
+            configure(visitor, properties);
+            visitor.visit(node(transaction));
+            stream.flush();
+
+            if (uow == null) {
+                transaction.commit();
+            }
+        } catch (final Exception e) {
+            throw handleError(uow, transaction, e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -84,6 +84,12 @@ public interface WorkspaceContext {
 	 * @throws Exception if error occurs
 	 */
 	WorkspaceContext getChild(String name, String type) throws Exception;
+
+	/**
+	 * Discards the children loaded from the repository so they are loaded again when next requested.
+	 * Called after this context's children have been changed without the changes being committed.
+	 */
+	void resetChildren();
 	
 	/**
 	 * Get the full name path for this context.  e.g. root.parentContext.thisContext
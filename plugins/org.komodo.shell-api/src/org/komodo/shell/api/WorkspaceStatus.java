@@ -28,6 +28,7 @@ import java.util.Properties;
 import org.komodo.core.KEngine;
 import org.komodo.relational.teiid.Teiid;
 import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 
 /**
  * WorkspaceStatus interface.
@@ -137,6 +138,12 @@ public interface WorkspaceStatus extends StringConstants {
      */
     WorkspaceContext getWorkspaceContext(String contextId);
 
+    /**
+     * @param contextId
+     * @return the cached workspace context with given id or <code>null</code> if it is not cached
+     */
+    WorkspaceContext getCachedWorkspaceContext(String contextId);
+
     /**
      * @param contextId
      * @param context
@@ -148,4 +155,38 @@ public interface WorkspaceStatus extends StringConstants {
      */
     KomodoShell getShell();
 
+    /**
+     * @return the transaction commands are run in or <code>null</code> if each operation commits itself
+     */
+    UnitOfWork getTransaction();
+
+    /**
+     * @return the number of times the repository has changed, including when sequencers finish writing their output. Workspace
+     *         contexts must reload what they have read from the repository when it is different from when they read it.
+     */
+    long getChangeCount();
+
+    /**
+     * Starts a transaction that commands are run in until it is committed or rolled back.
+     *
+     * @param source the name of the transaction (cannot be empty)
+     * @throws Exception if a transaction has already been started or it cannot be created
+     */
+    void beginTransaction(String source) throws Exception;
+
+    /**
+     * Commits the current transaction and waits for the commit to complete.
+     *
+     * @throws Exception if there is no current transaction or the commit fails
+     */
+    void commitTransaction() throws Exception;
+
+    /**
+     * Rolls back the current transaction and returns to the workspace context. Does nothing if there is no current
+     * transaction.
+     *
+     * @throws Exception if the workspace context cannot be restored
+     */
+    void rollbackTransaction() throws Exception;
+
 }
@@ -21,6 +21,7 @@ import java.io.IOException;
 import org.komodo.shell.api.AbstractShellCommand;
 import org.komodo.shell.api.Arguments;
 import org.komodo.shell.api.WorkspaceStatus;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 
 /**
  * Abstract base class for all built-in shell commands.
@@ -43,6 +44,14 @@ public abstract class BuiltInShellCommand extends AbstractShellCommand {
 		initValidWsContextTypes();
 	}
 
+	/**
+	 * @return the transaction of the workspace or <code>null</code> if each operation commits itself
+	 * @see WorkspaceStatus#getTransaction()
+	 */
+	protected UnitOfWork getTransaction() {
+		return getWorkspaceStatus().getTransaction();
+	}
+
 	/**
      * @see org.komodo.shell.api.ShellCommand#printUsage(int indent)
      */
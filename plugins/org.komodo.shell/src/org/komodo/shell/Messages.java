@@ -72,7 +72,10 @@ public class Messages implements StringConstants {
     	InvalidArgMsg_property_not_correct_format,
     	InvalidArgMsg_propertiesFile_error_reading,
     	InvalidArgMsg_propertiesFile_error_reading_line,
-    	FileShellCommandReader_NoConsole;
+    	FileShellCommandReader_NoConsole,
+    	TransactionInProgress,
+    	NoTransactionInProgress,
+    	TransactionCommitTimeout;
 
     	@Override
     	public String toString() {
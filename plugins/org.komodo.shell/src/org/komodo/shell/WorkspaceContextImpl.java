@@ -25,7 +25,10 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.repository.RepositoryTools;
 import org.komodo.shell.api.WorkspaceContext;
@@ -35,6 +38,7 @@ import org.komodo.spi.repository.Descriptor;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 
 /**
  * The WorkspaceContext
@@ -48,10 +52,36 @@ public class WorkspaceContextImpl implements WorkspaceContext {
     };
     private static List<String> relationalTypes = Arrays.asList(RELATIONAL_TYPES);
 
+    /**
+     * The name and type of a child read when the children of a context are loaded.
+     */
+    private static class ChildSnapshot {
+
+        private final KomodoObject child;
+        private final String name;
+        private final String type;
+
+        ChildSnapshot(KomodoObject child, String name, String type) {
+            this.child = child;
+            this.name = name;
+            this.type = type;
+        }
+    }
+
     private final WorkspaceStatus wsStatus;
     private final WorkspaceContext parent;
     private final KomodoObject repoObject;
 
+    /* Name and type of this context, valid while the change count of the workspace status is unchanged */
+    private String name;
+    private String type;
+    private long nameChangeCount = -1;
+
+    /* Children in repository order and keyed by lower case name, loaded in one transaction */
+    private List<ChildSnapshot> children;
+    private Map<String, ChildSnapshot> childrenByName;
+    private long childrenChangeCount = -1;
+
     /**
      * @param wsStatus the workspace status object
      * @param parent the parent context
@@ -106,7 +136,8 @@ public class WorkspaceContextImpl implements WorkspaceContext {
      */
     @Override
     public String getName() throws Exception {
-        return this.repoObject.getName(null);
+        loadNameAndType();
+        return this.name;
     }
 
     /* (non-Javadoc)
@@ -114,7 +145,83 @@ public class WorkspaceContextImpl implements WorkspaceContext {
      */
     @Override
     public String getType() throws Exception {
-        return this.repoObject.getTypeIdentifier(null).name();
+        loadNameAndType();
+        return this.type;
+    }
+
+    private void loadNameAndType() throws Exception {
+        long changeCount = wsStatus.getChangeCount();
+        if (this.name != null && this.nameChangeCount == changeCount)
+            return;
+
+        UnitOfWork uow = wsStatus.getTransaction();
+        UnitOfWork transaction = uow;
+        if (transaction == null)
+            transaction = getRepository().createTransaction("workspacecontext-loadNameAndType", true, null); //$NON-NLS-1$
+
+        try {
+            setNameAndType(this.repoObject.getName(transaction),
+                           this.repoObject.getTypeIdentifier(transaction).name(),
+                           changeCount);
+        } finally {
+            if (uow == null)
+                transaction.commit();
+        }
+    }
+
+    private void setNameAndType(String name, String type, long changeCount) {
+        this.name = name;
+        this.type = type;
+        this.nameChangeCount = changeCount;
+    }
+
+    /*
+     * Loads the names and types of all children in one transaction unless they have already been
+     * loaded and the repository has not changed since.
+     */
+    private List<ChildSnapshot> loadChildren() throws Exception {
+        long changeCount = wsStatus.getChangeCount();
+        if (this.children != null && this.childrenChangeCount == changeCount)
+            return this.children;
+
+        UnitOfWork uow = wsStatus.getTransaction();
+        UnitOfWork transaction = uow;
+        if (transaction == null)
+            transaction = getRepository().createTransaction("workspacecontext-loadChildren", true, null); //$NON-NLS-1$
+
+        List<ChildSnapshot> snapshots = new ArrayList<ChildSnapshot>();
+        Map<String, ChildSnapshot> snapshotsByName = new HashMap<String, ChildSnapshot>();
+
+        try {
+            for (KomodoObject child : repoObject.getChildren(transaction)) {
+                ChildSnapshot snapshot = new ChildSnapshot(child,
+                                                           child.getName(transaction),
+                                                           child.getTypeIdentifier(transaction).name());
+                snapshots.add(snapshot);
+
+                // the first child of a name is found when names differ only by case
+                String key = snapshot.name.toLowerCase(Locale.ENGLISH);
+                if (!snapshotsByName.containsKey(key))
+                    snapshotsByName.put(key, snapshot);
+            }
+        } finally {
+            if (uow == null)
+                transaction.commit();
+        }
+
+        this.children = snapshots;
+        this.childrenByName = snapshotsByName;
+        this.childrenChangeCount = changeCount;
+        return snapshots;
+    }
+
+    /* (non-Javadoc)
+     * @see org.komodo.shell.api.WorkspaceContext#resetChildren()
+     */
+    @Override
+    public void resetChildren() {
+        this.children = null;
+        this.childrenByName = null;
     }
 
     /* (non-Javadoc)
@@ -130,18 +237,18 @@ public class WorkspaceContextImpl implements WorkspaceContext {
      */
     @Override
     public List<WorkspaceContext> getChildren() throws Exception {
-        List<WorkspaceContext> childrenCtx = new ArrayList<WorkspaceContext>();
-        KomodoObject[] children = repoObject.getChildren(null);
+        List<ChildSnapshot> snapshots = loadChildren();
+        List<WorkspaceContext> childrenCtx = new ArrayList<WorkspaceContext>(snapshots.size());
 
-        for (KomodoObject child : children) {
-            childrenCtx.add(new WorkspaceContextImpl(wsStatus, this, child));
+        for (ChildSnapshot snapshot : snapshots) {
+            childrenCtx.add(createWorkspaceContext(snapshot));
         }
 
         return childrenCtx;
     }
 
     private WorkspaceContext createWorkspaceContext(KomodoObject relObj) throws Exception {
-        WorkspaceContext context = wsStatus.getWorkspaceContext(relObj.getAbsolutePath());
+        WorkspaceContext context = wsStatus.getCachedWorkspaceContext(relObj.getAbsolutePath());
         if (context == null) {
             context = new WorkspaceContextImpl(wsStatus, this, relObj);
             wsStatus.addWorkspaceContext(relObj.getAbsolutePath(), context);
@@ -150,6 +257,16 @@ public class WorkspaceContextImpl implements WorkspaceContext {
         return context;
     }
 
+    private WorkspaceContext createWorkspaceContext(ChildSnapshot snapshot) throws Exception {
+        WorkspaceContext context = createWorkspaceContext(snapshot.child);
+
+        // the snapshot is current so the child need not read its own name and type
+        if (context instanceof WorkspaceContextImpl)
+            ((WorkspaceContextImpl)context).setNameAndType(snapshot.name, snapshot.type, this.childrenChangeCount);
+
+        return context;
+    }
+
     /**
      * Get the full name path for this context.  e.g. home.parentContext.thisContext
      * @return the full name
@@ -188,16 +305,9 @@ public class WorkspaceContextImpl implements WorkspaceContext {
      */
     @Override
     public WorkspaceContext getChild(String name) throws Exception {
-        KomodoObject[] children = repoObject.getChildren(null);
-
-        for (KomodoObject child : children) {
-            String childName = child.getName(null);
-            if (childName.equalsIgnoreCase(name)) {
-                return createWorkspaceContext(child);
-            }
-        }
-
-        return null;
+        loadChildren();
+        ChildSnapshot snapshot = this.childrenByName.get(name.toLowerCase(Locale.ENGLISH));
+        return (snapshot == null) ? null : createWorkspaceContext(snapshot);
     }
 
     /* (non-Javadoc)
@@ -205,10 +315,10 @@ public class WorkspaceContextImpl implements WorkspaceContext {
      */
     @Override
     public WorkspaceContext getChild(String name, String type) throws Exception {
-        KomodoObject[] children = repoObject.getChildrenOfType(null, type);
+        KomodoObject[] children = repoObject.getChildrenOfType(wsStatus.getTransaction(), type);
 
         for (KomodoObject child : children) {
-            String childName = child.getName(null);
+            String childName = child.getName(wsStatus.getTransaction());
             if (childName.equalsIgnoreCase(name)) {
                 return createWorkspaceContext(child);
             }
@@ -226,7 +336,7 @@ public class WorkspaceContextImpl implements WorkspaceContext {
 ////            propNameValues.put(WorkspaceStatus.RECORDING_FILEPATH_KEY, getWorkspaceStatus().getRecordingOutputFile().toString());
 
         KomodoObject relObj = getKomodoObj();
-        String[] props = relObj.getPropertyNames(null);
+        String[] props = relObj.getPropertyNames(wsStatus.getTransaction());
 
         if (props != null)
             return Arrays.asList(props);
@@ -237,14 +347,14 @@ public class WorkspaceContextImpl implements WorkspaceContext {
     @Override
     public String getPropertyValue(String propertyName) throws Exception {
         KomodoObject relObj = getKomodoObj();
-        Property property = relObj.getProperty(null, propertyName);
+        Property property = relObj.getProperty(wsStatus.getTransaction(), propertyName);
         return RepositoryTools.getDisplayValue(property);
     }
 
     @Override
     public void setPropertyValue(String propertyName, Object value) throws Exception {
         KomodoObject relObj = getKomodoObj();
-        relObj.setProperty(null, propertyName, value);
+        relObj.setProperty(wsStatus.getTransaction(), propertyName, value);
     }
 
     /* (non-Javadoc)
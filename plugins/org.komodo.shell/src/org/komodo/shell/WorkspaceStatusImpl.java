@@ -24,19 +24,26 @@ package org.komodo.shell;
 import java.io.File;
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.komodo.core.KEngine;
 import org.komodo.relational.teiid.Teiid;
+import org.komodo.shell.Messages.SHELL;
 import org.komodo.shell.api.KomodoShell;
 import org.komodo.shell.api.WorkspaceContext;
 import org.komodo.shell.api.WorkspaceStatus;
 import org.komodo.shell.api.WorkspaceStatusEventHandler;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWorkListener;
+import org.komodo.spi.repository.RepositoryChangeObserver;
 
 /**
  * Test implementation of WorkspaceStatus
@@ -48,8 +55,22 @@ public class WorkspaceStatusImpl implements WorkspaceStatus {
     /* The library context is where all artifacts are stored */
     private WorkspaceContextImpl rootContext;
 
-    /* Cache of context to avoid creating needless duplicate contexts */
-    private Map<String, WorkspaceContext> contextCache = new HashMap<String, WorkspaceContext>();
+    /* Maximum number of cached contexts */
+    private static final int MAX_CACHED_CONTEXTS = 10000;
+
+    /* Cache of context to avoid creating needless duplicate contexts, least recently used are removed first */
+    private Map<String, WorkspaceContext> contextCache = new LinkedHashMap<String, WorkspaceContext>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WorkspaceContext> eldest) {
+            return size() > MAX_CACHED_CONTEXTS;
+        }
+    };
+
+    /* Incremented whenever the repository changes so contexts reload their children, names and types */
+    private volatile long changeCount = 0;
 
     private WorkspaceContext currentContext;
     private Set<WorkspaceStatusEventHandler> eventHandlers = new HashSet<WorkspaceStatusEventHandler>();
@@ -58,6 +79,72 @@ public class WorkspaceStatusImpl implements WorkspaceStatus {
 
     private Teiid teiid;
 
+    /* The transaction commands are run in or null if each operation commits itself */
+    private UnitOfWork transaction;
+    private TransactionListener transactionListener;
+
+    /* Minutes to wait for a commit to complete */
+    private static final int COMMIT_TIMEOUT = 10;
+
+    /**
+     * Counts the changes to the repository. Removes itself once the workspace status is no longer used.
+     */
+    private static class ChangeObserver implements RepositoryChangeObserver {
+
+        private final Repository repository;
+        private final WeakReference<WorkspaceStatusImpl> wsStatus;
+
+        ChangeObserver(Repository repository, WorkspaceStatusImpl wsStatus) {
+            this.repository = repository;
+            this.wsStatus = new WeakReference<WorkspaceStatusImpl>(wsStatus);
+        }
+
+        @Override
+        public void eventOccurred() {
+            changesCommitted();
+        }
+
+        @Override
+        public void changesCommitted() {
+            WorkspaceStatusImpl status = this.wsStatus.get();
+            if (status == null)
+                this.repository.removeObserver(this);
+            else
+                status.changed();
+        }
+    }
+
+    /**
+     * Records the outcome of committing the current transaction.
+     */
+    private static class TransactionListener implements UnitOfWorkListener {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Throwable error;
+
+        @Override
+        public void respond(Object results) {
+            this.latch.countDown();
+        }
+
+        @Override
+        public void errorOccurred(Throwable error) {
+            this.error = error;
+            this.latch.countDown();
+        }
+
+        void await(UnitOfWork uow) throws Exception {
+            if (!this.latch.await(COMMIT_TIMEOUT, TimeUnit.MINUTES))
+                throw new Exception(Messages.getString(SHELL.TransactionCommitTimeout, uow.getName(), COMMIT_TIMEOUT));
+
+            if (this.error instanceof Exception)
+                throw (Exception)this.error;
+
+            if (this.error != null)
+                throw new Exception(this.error);
+        }
+    }
+
     /**
      * Constructor
      * @param shell parent shell
@@ -66,6 +153,21 @@ public class WorkspaceStatusImpl implements WorkspaceStatus {
     public WorkspaceStatusImpl(KomodoShell shell) throws Exception {
         this.shell = shell;
         init();
+
+        Repository repo = getEngine().getDefaultRepository();
+        repo.addObserver(new ChangeObserver(repo, this));
+    }
+
+    private synchronized void changed() {
+        ++this.changeCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.komodo.shell.api.WorkspaceStatus#getChangeCount()
+     */
+    @Override
+    public long getChangeCount() {
+        return this.changeCount;
     }
 
     private void init() throws Exception {
@@ -134,6 +236,11 @@ public class WorkspaceStatusImpl implements WorkspaceStatus {
         return context;
     }
 
+    @Override
+    public WorkspaceContext getCachedWorkspaceContext(String contextId) {
+        return contextCache.get(contextId);
+    }
+
     @Override
     public void addWorkspaceContext(String contextId, WorkspaceContext context) {
         contextCache.put(contextId, context);
@@ -233,6 +340,67 @@ public class WorkspaceStatusImpl implements WorkspaceStatus {
         this.recordingOutputFile = new File(recordingOutputFilePath);
     }
 
+    /* (non-Javadoc)
+     * @see org.komodo.shell.api.WorkspaceStatus#getTransaction()
+     */
+    @Override
+    public UnitOfWork getTransaction() {
+        return this.transaction;
+    }
+
+    /* (non-Javadoc)
+     * @see org.komodo.shell.api.WorkspaceStatus#beginTransaction(java.lang.String)
+     */
+    @Override
+    public void beginTransaction(String source) throws Exception {
+        if (this.transaction != null)
+            throw new Exception(Messages.getString(SHELL.TransactionInProgress, this.transaction.getName()));
+
+        TransactionListener listener = new TransactionListener();
+        this.transaction = getEngine().getDefaultRepository().createTransaction(source, false, listener);
+        this.transactionListener = listener;
+    }
+
+    /* (non-Javadoc)
+     * @see org.komodo.shell.api.WorkspaceStatus#commitTransaction()
+     */
+    @Override
+    public void commitTransaction() throws Exception {
+        if (this.transaction == null)
+            throw new Exception(Messages.getString(SHELL.NoTransactionInProgress));
+
+        UnitOfWork uow = this.transaction;
+        TransactionListener listener = this.transactionListener;
+
+        // keep the transaction if the commit fails so that it can still be rolled back
+        uow.commit();
+
+        this.transaction = null;
+        this.transactionListener = null;
+        listener.await(uow);
+    }
+
+    /* (non-Javadoc)
+     * @see org.komodo.shell.api.WorkspaceStatus#rollbackTransaction()
+     */
+    @Override
+    public void rollbackTransaction() throws Exception {
+        if (this.transaction == null)
+            return;
+
+        UnitOfWork uow = this.transaction;
+        this.transaction = null;
+        this.transactionListener = null;
+
+        uow.rollback();
+        changed();
+
+        // contexts may refer to objects that were rolled back so start again from the workspace
+        this.contextCache.clear();
+        init();
+        fireContextChangeEvent();
+    }
+
     /* (non-Javadoc)
      * @see org.komodo.shell.api.WorkspaceStatus#setProperties(java.util.Properties)
      */
@@ -72,35 +72,35 @@ public class CreateCommand extends BuiltInShellCommand implements StringConstant
         switch (kType) {
             case STATEMENT_OPTION: {
                 String optionValue = requiredArgument(2, Messages.getString("CreateCommand.InvalidArgMsg_StatementOptionValue")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(StandardDdlLexicon.VALUE, optionValue));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(StandardDdlLexicon.VALUE, optionValue));
             } break;
             case VDB_ENTRY: {
                 String entryPath = requiredArgument(2, Messages.getString("CreateCommand.InvalidArgMsg_EntryPath")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(VdbLexicon.Entry.PATH, entryPath));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(VdbLexicon.Entry.PATH, entryPath));
         	} break;
             case VDB_TRANSLATOR: {
                 String transType = requiredArgument(2, Messages.getString("CreateCommand.InvalidArgMsg_TranslatorType")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(VdbLexicon.Translator.TYPE, transType));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(VdbLexicon.Translator.TYPE, transType));
             } break;
             case VDB: {
                 String filePath = optionalArgument(2, Messages.getString("CreateCommand.DefaultVdb_VdbFilePath")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(VdbLexicon.Vdb.ORIGINAL_FILE, filePath));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(VdbLexicon.Vdb.ORIGINAL_FILE, filePath));
             } break;
             case MODEL: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.modelNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(VdbLexicon.Model.MODEL, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(VdbLexicon.Model.MODEL, name));
             } break;
             case TABLE: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.tableNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateTable.TABLE_STATEMENT, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateTable.TABLE_STATEMENT, name));
             } break;
             case VIEW: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.viewNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateTable.VIEW_STATEMENT, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateTable.VIEW_STATEMENT, name));
             } break;
             case COLUMN: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.columnNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateTable.TABLE_ELEMENT, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateTable.TABLE_ELEMENT, name));
             } break;
             case FOREIGN_KEY: {
                 String tableRefPath = requiredArgument(2, Messages.getString("CreateCommand.InvalidArgMsg_FKTableRefPath")); //$NON-NLS-1$
@@ -112,25 +112,27 @@ public class CreateCommand extends BuiltInShellCommand implements StringConstant
                 if (otherTableContext == null)
                     throw new Exception(Messages.getString("CreateCommand.invalidForeignKeyRefPath", tableRefPath)); //$NON-NLS-1$
             	
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.Constraint.FOREIGN_KEY_CONSTRAINT, otherTableContext.getKomodoObj()));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.Constraint.FOREIGN_KEY_CONSTRAINT, otherTableContext.getKomodoObj()));
             } break;
             case PRIMARY_KEY: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.primaryKeyNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.Constraint.TABLE_ELEMENT, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.Constraint.TABLE_ELEMENT, name));
             } break;
             case STORED_PROCEDURE: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.procedureNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT, name));
             } break;
             case PARAMETER: {
                 String name = requiredArgument(1, Messages.getString("CreateCommand.parameterNameRequired")); //$NON-NLS-1$
-                wkspManager.create(null, parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateProcedure.PARAMETER, name));
+                wkspManager.create(getTransaction(), parent, objName, kType, new RelationalProperty(TeiidDdlLexicon.CreateProcedure.PARAMETER, name));
             } break;
             case UNKNOWN:
                 throw new Exception(Messages.getString("CreateCommand.notValidType", objType)); //$NON-NLS-1$
             default:
-                wkspManager.create(null, parent, objName, kType);
+                wkspManager.create(getTransaction(), parent, objName, kType);
         }
+
+        currentContext.resetChildren();
     }
 
     /**
@@ -54,9 +54,10 @@ public class DeleteCommand extends BuiltInShellCommand implements StringConstant
         WorkspaceManager wkspManager = WorkspaceManager.getInstance(repository);
         KomodoObject parent = currentContext.getKomodoObj();
         
-        KomodoObject child = parent.getChild(null, objName);
+        KomodoObject child = parent.getChild(getTransaction(), objName);
         if( child != null ) {
-        	wkspManager.delete(null, child);
+        	wkspManager.delete(getTransaction(), child);
+        	currentContext.resetChildren();
         } else {
         	throw new Exception("Cannot delete. The child [" + objName + "] does not exist" );
         }
@@ -69,7 +69,7 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
             // No arguments so expect us to be inside a vdb
             //
             KomodoObject kObj = context.getKomodoObj();
-            Descriptor type = kObj.getPrimaryType(null);
+            Descriptor type = kObj.getPrimaryType(getTransaction());
             if (VDB_TYPE.equals(type.getName())) {
                 vdbToDeploy = kObj;
             }
@@ -88,7 +88,7 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
         Repository repository = wsStatus.getCurrentContext().getRepository();
         WorkspaceManager wkspManager = WorkspaceManager.getInstance(repository);
 
-        Vdb vdb = wkspManager.resolve(null, vdbToDeploy, Vdb.class);
+        Vdb vdb = wkspManager.resolve(getTransaction(), vdbToDeploy, Vdb.class);
         if (vdb == null)
             throw new InvalidCommandArgumentException(0, Messages.getString("DeployCommand.InvalidCommand")); //$NON-NLS-1$
 
@@ -107,14 +107,14 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
             return false;
         }
 
-        String vdbXml = vdb.export(null, null);
+        String vdbXml = vdb.export(getTransaction(), null);
         if (vdbXml == null || vdbXml.isEmpty()) {
             print(CompletionConstants.MESSAGE_INDENT, Messages.getString("DeployCommand.exportFailure")); //$NON-NLS-1$
             return false;
         }
 
         InputStream stream = new ByteArrayInputStream(vdbXml.getBytes());
-        teiidInstance.deployDynamicVdb(vdb.getName(null), stream);
+        teiidInstance.deployDynamicVdb(vdb.getName(getTransaction()), stream);
 
         return true;
     }
@@ -65,7 +65,7 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
         WorkspaceManager wkspManager = WorkspaceManager.getInstance(repository);
         KomodoObject parent = currentContext.getKomodoObj();
         
-        KomodoObject child = parent.getChild(null, objName);
+        KomodoObject child = parent.getChild(getTransaction(), objName);
         if( child == null ) {
         	throw new Exception("Cannot export. The object [" + objName + "] does not exist" );
         }
@@ -78,15 +78,15 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
         // Check object type
        
         
-        if( child.getTypeIdentifier(null).equals(KomodoType.VDB)) {
-        	Vdb vdb = wkspManager.resolve(null, child, Vdb.class);
+        if( child.getTypeIdentifier(getTransaction()).equals(KomodoType.VDB)) {
+        	Vdb vdb = wkspManager.resolve(getTransaction(), child, Vdb.class);
         	if( vdb == null ) {
         		throw new Exception(" EXPORT VDB not yet implemented");
         	}
 			Properties props = new Properties();
 			props.put( ExportConstants.USE_TABS_PROP_KEY, true);
 
-			String ddlXmlString = vdb.export(null, props);
+			String ddlXmlString = vdb.export(getTransaction(), props);
 			if (ddlXmlString == null || ddlXmlString .isEmpty()) {
 				throw new Exception(" Problem with VDB. Could not export");
 			}
@@ -94,7 +94,7 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
 			handleExport(ddlXmlString, fileNameAndLocation);
 			
         	
-        } else if( child.getTypeIdentifier(null).equals(KomodoType.MODEL)) {
+        } else if( child.getTypeIdentifier(getTransaction()).equals(KomodoType.MODEL)) {
         	 // IF Model, then export as xyz.ddl file
         	throw new Exception(" EXPORT MODEL not yet implemented");
         }
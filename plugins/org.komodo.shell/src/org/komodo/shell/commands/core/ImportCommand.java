@@ -111,7 +111,8 @@ public class ImportCommand extends BuiltInShellCommand {
 
         File ddlFile = new File(modelFile);
 
-        DdlImporter importer = new DdlImporter(repository);
+        // join the batch transaction if there is one so the import is committed with the rest of the batch
+        DdlImporter importer = new DdlImporter(repository, wsStatus.getTransaction());
         importer.importDdl(ddlFile, importOptions, importMessages);
 
         return importMessages;
@@ -142,7 +143,8 @@ public class ImportCommand extends BuiltInShellCommand {
         importOptions.setImportType(ImportType.VDB);
         importOptions.setOption(OptionKeys.NAME, xmlFile.getName());
 
-        VdbImporter importer = new VdbImporter(repository);
+        // join the batch transaction if there is one so the import is committed with the rest of the batch
+        VdbImporter importer = new VdbImporter(repository, wsStatus.getTransaction());
         importer.importVdb(xmlFile, importOptions, importMessages);
 
         return importMessages;
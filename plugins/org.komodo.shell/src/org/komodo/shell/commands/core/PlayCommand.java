@@ -6,6 +6,7 @@ import org.komodo.shell.Messages;
 import org.komodo.shell.ShellCommandFactory;
 import org.komodo.shell.ShellCommandReader;
 import org.komodo.shell.ShellCommandReaderFactory;
+import org.komodo.shell.api.InvalidCommandArgumentException;
 import org.komodo.shell.api.ShellCommand;
 import org.komodo.shell.api.WorkspaceStatus;
 import org.komodo.shell.commands.ExitCommand;
@@ -13,6 +14,8 @@ import org.komodo.spi.constants.StringConstants;
 
 public class PlayCommand  extends BuiltInShellCommand implements StringConstants {
 
+	private static final String BATCH = "-batch"; //$NON-NLS-1$
+
 	/**
 	 * Constructor.
 	 * @param wsStatus the workspace status
@@ -27,9 +30,29 @@ public class PlayCommand  extends BuiltInShellCommand implements StringConstants
 	@Override
 	public boolean execute() throws Exception {
         String fileNameArg = requiredArgument(0, Messages.getString("PlayCommand.InvalidArgMsg_FileName")); //$NON-NLS-1$
-        
+        int checkpointSize = -1;
+
+        String batchArg = optionalArgument(1);
+        if (batchArg != null) {
+            if (!BATCH.equals(batchArg))
+                throw new InvalidCommandArgumentException(1, Messages.getString("PlayCommand.InvalidArgMsg_Batch", batchArg)); //$NON-NLS-1$
+
+            checkpointSize = 0;
+            String checkpointArg = optionalArgument(2);
+            if (checkpointArg != null) {
+                try {
+                    checkpointSize = Integer.parseInt(checkpointArg);
+                } catch (NumberFormatException e) {
+                    checkpointSize = -1;
+                }
+
+                if (checkpointSize < 0)
+                    throw new InvalidCommandArgumentException(2, Messages.getString("PlayCommand.InvalidArgMsg_CheckpointSize", checkpointArg)); //$NON-NLS-1$
+            }
+        }
+
         try {
-        	playFile(fileNameArg);
+        	playFile(fileNameArg, checkpointSize);
             print(CompletionConstants.MESSAGE_INDENT, Messages.getString("PlayCommand.fileExecuted", fileNameArg)); //$NON-NLS-1$
             if (getWorkspaceStatus().getRecordingStatus())
                 recordCommand(getArguments());
@@ -41,7 +64,7 @@ public class PlayCommand  extends BuiltInShellCommand implements StringConstants
         return true;
 	}
 	
-	private void playFile(String commandFile ) throws Exception {
+	private void playFile(String commandFile, int checkpointSize) throws Exception {
         
 		WorkspaceStatus wsStatus = getWorkspaceStatus();
 
@@ -52,11 +75,38 @@ public class PlayCommand  extends BuiltInShellCommand implements StringConstants
 		ShellCommandFactory factory = new ShellCommandFactory(wsStatus);
 		ShellCommandReader reader = ShellCommandReaderFactory.createCommandReader(args, factory, wsStatus);
         reader.open();
-        
-        runCommands(reader);
+
+        try {
+            // a file played within a batch runs in the transaction of that batch
+            if (checkpointSize < 0 || wsStatus.getTransaction() != null)
+                runCommands(reader, -1);
+            else
+                runBatch(reader, checkpointSize);
+        } finally {
+            reader.close();
+        }
 	}
-	
-	private void runCommands(ShellCommandReader reader) throws Exception {
+
+	/*
+	 * Runs all the commands in one transaction, committing every checkpointSize commands
+	 * when checkpointSize is greater than zero.
+	 */
+	private void runBatch(ShellCommandReader reader, int checkpointSize) throws Exception {
+		WorkspaceStatus wsStatus = getWorkspaceStatus();
+		wsStatus.beginTransaction(getName());
+
+		try {
+			runCommands(reader, checkpointSize);
+			wsStatus.commitTransaction();
+		} catch (Exception e) {
+			wsStatus.rollbackTransaction();
+			throw e;
+		}
+	}
+
+	private void runCommands(ShellCommandReader reader, int checkpointSize) throws Exception {
+		WorkspaceStatus wsStatus = getWorkspaceStatus();
+		int count = 0;
 		boolean done = false;
 		while (!done) {
 			ShellCommand command = reader.read();
@@ -69,6 +119,10 @@ public class PlayCommand  extends BuiltInShellCommand implements StringConstants
 				throw new Exception(Messages.getString("PlayCommand.CommandFailure", command.getName()));
 			}
 
+			if (checkpointSize > 0 && ++count % checkpointSize == 0) {
+				wsStatus.commitTransaction();
+				wsStatus.beginTransaction(getName());
+			}
 		}
 	}
 
@@ -50,9 +50,10 @@ public class RenameCommand extends BuiltInShellCommand implements StringConstant
 
         KomodoObject parent = wsStatus.getCurrentContext().getKomodoObj();
         
-        KomodoObject child = parent.getChild(null, objName);
+        KomodoObject child = parent.getChild(getTransaction(), objName);
         if( child != null ) {
-        	child.rename(null, newName);
+        	child.rename(getTransaction(), newName);
+        	wsStatus.getCurrentContext().resetChildren();
         } else {
         	throw new Exception("Cannot rename. The child [" + objName + "] does not exist" );
         }
@@ -64,7 +64,7 @@ public class UseTeiidCommand extends BuiltInShellCommand implements StringConsta
         Repository repository = wStatus.getCurrentContext().getRepository();
         WorkspaceManager wkspManager = WorkspaceManager.getInstance(repository);
 
-        List<Teiid> teiids = wkspManager.findTeiids(null);
+        List<Teiid> teiids = wkspManager.findTeiids(getTransaction());
 
         if (teiids == null || teiids.size() == 0) {
             print(CompletionConstants.MESSAGE_INDENT, Messages.getString("UseTeiidCommand.noInstancesDefined")); //$NON-NLS-1$
@@ -72,8 +72,8 @@ public class UseTeiidCommand extends BuiltInShellCommand implements StringConsta
         }
 
         for (Teiid teiid : teiids) {
-            String teiidName = teiid.getName(null);
-            if (nameOrId.equals(teiid.getId(null)) || nameOrId.equals(teiidName)) {
+            String teiidName = teiid.getName(getTransaction());
+            if (nameOrId.equals(teiid.getId(getTransaction())) || nameOrId.equals(teiidName)) {
                 wStatus.setTeiid(teiid);
                 TeiidInstance teiidInstance = teiid.getTeiidInstance();
 
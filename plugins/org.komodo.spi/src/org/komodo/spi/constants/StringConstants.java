@@ -53,6 +53,11 @@ public interface StringConstants {
      */
     String PERCENT = "%"; //$NON-NLS-1$
 
+    /**
+     * A dollar sign.
+     */
+    String DOLLAR_SIGN = "$"; //$NON-NLS-1$
+
     /**
      * An underscore.
      */
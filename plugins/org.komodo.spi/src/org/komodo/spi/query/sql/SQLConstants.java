@@ -46,6 +46,8 @@ public interface SQLConstants extends StringConstants {
     String FROM = "FROM"; //$NON-NLS-1$
     String WHERE = "WHERE"; //$NON-NLS-1$
     String HAVING = "HAVING"; //$NON-NLS-1$
+    String LIMIT = "LIMIT"; //$NON-NLS-1$
+    String OFFSET = "OFFSET"; //$NON-NLS-1$
     String L_PAREN = OPEN_BRACKET;
     String R_PAREN = CLOSE_BRACKET;
     String S_QUOTE = "\'"; //$NON-NLS-1$
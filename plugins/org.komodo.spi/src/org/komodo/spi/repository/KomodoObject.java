@@ -7,6 +7,7 @@
  */
 package org.komodo.spi.repository;
 
+import java.util.Map;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 
@@ -149,6 +150,36 @@ public interface KomodoObject extends KNode {
      */
     String[] getPropertyNames( final UnitOfWork transaction ) throws KException;
 
+    /**
+     * Obtains the values of all the properties of this object while only resolving this object once. This is much faster than
+     * obtaining each {@link Property property} and asking it for its value.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @return the property values keyed by property name in the order the properties are returned by the repository (never
+     *         <code>null</code> but can be empty). Multi-valued property values are an <code>Object[]</code>.
+     * @throws KException
+     *         if an error occurs
+     */
+    Map< String, Object > getPropertyValues( final UnitOfWork transaction ) throws KException;
+
+    /**
+     * Obtains the values of the requested properties while only resolving this object once. This is much faster than obtaining
+     * each {@link Property property} and asking it for its value.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if query should be automatically committed)
+     * @param names
+     *        the names of the properties whose values are being requested (cannot be <code>null</code>, empty, or have an empty
+     *        element)
+     * @return the property values keyed by property name in the order requested (never <code>null</code> but can be empty).
+     *         Properties that do not exist are not included. Multi-valued property values are an <code>Object[]</code>.
+     * @throws KException
+     *         if an error occurs
+     */
+    Map< String, Object > getPropertyValues( final UnitOfWork transaction,
+                                             final String... names ) throws KException;
+
     /**
      * @return a unique identifier for the object class
      */
@@ -23,7 +23,10 @@ package org.komodo.spi.repository;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 import org.komodo.spi.KException;
 
 /**
@@ -174,6 +177,17 @@ public interface Repository {
          */
         String getName();
 
+        /**
+         * Sequencers run asynchronously after a commit. The future can be used to wait until the content derived by the sequencers
+         * is available instead of polling. The future completes immediately when nothing that needs sequencing was saved, the
+         * transaction is rolled back, or the repository does not track sequencing. If the commit or a sequencing job fails, the
+         * future's <code>get</code> methods throw an <code>ExecutionException</code>.
+         *
+         * @return a future that completes once every sequencing job triggered by committing this transaction has finished or
+         *         failed (never <code>null</code>)
+         */
+        Future< Void > getSequencingFuture();
+
         /**
          * @return the transaction state (never <code>null</code>)
          */
@@ -267,6 +281,55 @@ public interface Repository {
      */
     List<KomodoObject> query(UnitOfWork transaction, String query) throws KException;
 
+    /**
+     * @param transaction
+     *        the transaction (can be <code>null</code> if operation should be automatically committed)
+     * @param query
+     *        the SQL query
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results returned or a negative number if there is no limit
+     *
+     * @return the requested page of {@link KomodoObject}s resulting from the search
+     * @throws KException if error occurs
+     */
+    List<KomodoObject> query(UnitOfWork transaction, String query, long offset, long limit) throws KException;
+
+    /**
+     * The statement is parsed once per session so statements that differ only in their values should use bind variables.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if operation should be automatically committed)
+     * @param query
+     *        the SQL query
+     * @param bindings
+     *        the values of the query's bind variables keyed by variable name (can be <code>null</code> if the query has none)
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results returned or a negative number if there is no limit
+     *
+     * @return the requested page of {@link KomodoObject}s resulting from the search
+     * @throws KException if error occurs
+     */
+    List<KomodoObject> query(UnitOfWork transaction, String query, Map<String, String> bindings, long offset, long limit)
+        throws KException;
+
+    /**
+     * The results are read from the repository as the iterator advances so the transaction must not be committed or rolled
+     * back until iteration has finished.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param query
+     *        the SQL query
+     *
+     * @return an iterator over the {@link KomodoObject}s resulting from the search
+     * @throws KException if error occurs
+     */
+    Iterator<KomodoObject> queryIterator(UnitOfWork transaction, String query) throws KException;
+
     /**
      * @param transaction
      *        the transaction (can be <code>null</code> if operation should be automatically committed)
@@ -287,6 +350,31 @@ public interface Repository {
     List<KomodoObject> searchByKeyword( UnitOfWork transaction, String type, String property,
                                                                      KeywordCriteria keywordCriteria, String... keywords) throws KException;
 
+    /**
+     * @param transaction
+     *        the transaction (can be <code>null</code> if operation should be automatically committed)
+     * @param type
+     *        the type of node to base the search on
+     * @param property
+     *        the property which will contain the keywords
+     * @param keywordCriteria
+     *        the search criteria (can be <code>null</code> if the default criteria should be used)
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results returned or a negative number if there is no limit
+     * @param keywords
+     *        words that should be matched to words found in the description (can be empty)
+     *
+     * @return the requested page of {@link KomodoObject}s resulting from the search
+     *
+     * @throws KException
+     *         if parent path does not exist or an error occurs
+     */
+    List<KomodoObject> searchByKeyword( UnitOfWork transaction, String type, String property,
+                                       KeywordCriteria keywordCriteria, long offset, long limit,
+                                       String... keywords) throws KException;
+
     /**
      *
      * @param transaction
@@ -300,6 +388,23 @@ public interface Repository {
      */
     List<KomodoObject> searchByType( UnitOfWork transaction, String... types) throws KException;
 
+    /**
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if operation should be automatically committed)
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results returned or a negative number if there is no limit
+     * @param types the primary or mixin types to search for
+     *
+     * @return the requested page of {@link KomodoObject}s resulting from the search
+     *
+     * @throws KException
+     *         if parent path does not exist or an error occurs
+     */
+    List<KomodoObject> searchByType( UnitOfWork transaction, long offset, long limit, String... types) throws KException;
+
     /**
     *
     * @param transaction
@@ -313,6 +418,23 @@ public interface Repository {
     */
     List<KomodoObject> searchByPath( UnitOfWork transaction, String path) throws KException;
 
+    /**
+    *
+    * @param transaction
+    *        the transaction (can be <code>null</code> if operation should be automatically committed)
+    * @param path the path to search for
+    * @param offset
+    *        the number of results to skip (cannot be negative)
+    * @param limit
+    *        the maximum number of results returned or a negative number if there is no limit
+    *
+    * @return the requested page of {@link KomodoObject}s resulting from the search
+    *
+    * @throws KException
+    *         if parent path does not exist or an error occurs
+    */
+    List<KomodoObject> searchByPath( UnitOfWork transaction, String path, long offset, long limit) throws KException;
+
     /**
      * Get an object from the workspace part of the repository.
      *
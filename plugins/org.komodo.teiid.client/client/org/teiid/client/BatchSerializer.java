@@ -90,6 +90,19 @@ public abstract class BatchSerializer {
      */
     public abstract List<List<Object>> readBatch(ObjectInput in, String[] types) throws IOException, ClassNotFoundException;
 
+    /**
+     * @param in
+     * @param types
+     * @param columnar if true the batch may be decoded into a {@link org.teiid.client.batch.ColumnarBatch},
+     *        if the serializer supports it
+     * @return batch of results
+     * @throws IOException 
+     * @throws ClassNotFoundException 
+     */
+    public List<List<Object>> readBatch(ObjectInput in, String[] types, boolean columnar) throws IOException, ClassNotFoundException {
+        return readBatch(in, types);
+    }
+
     /**
      * @param out
      * @param types
@@ -117,10 +117,20 @@ public class ResultsMessage implements Externalizable {
 	}
 	
 	public void processResults() throws SQLException {
+		processResults(false);
+	}
+
+	/**
+	 * Deserializes delayed results
+	 * 
+	 * @param columnar if true the results may be decoded into a {@link org.teiid.client.batch.ColumnarBatch}
+	 * @throws SQLException
+	 */
+	public void processResults(boolean columnar) throws SQLException {
 		if (results == null && resultBytes != null) {
 			try {
 		        CompactObjectInputStream ois = new CompactObjectInputStream(new ByteArrayInputStream(resultBytes), ResultsMessage.class.getClassLoader());
-		        results = BatchSerializer.getInstance(getTeiidVersion()).readBatch(ois, dataTypes);
+		        results = BatchSerializer.getInstance(getTeiidVersion()).readBatch(ois, dataTypes, columnar);
 			} catch (IOException e) {
 				throw new SQLException(e);
 			} catch (ClassNotFoundException e) {
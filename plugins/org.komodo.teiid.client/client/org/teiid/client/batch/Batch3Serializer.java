@@ -207,6 +207,21 @@ public class Batch3Serializer extends BatchSerializer {
 			in.readFully(bytes);
 			return new BinaryTypeImpl(bytes);
 		}
+
+		@Override
+		public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) throws IOException {
+			readIsNullData(in, isNull);
+			ColumnarBatch.BinaryColumn column = new ColumnarBatch.BinaryColumn(isNull, rows);
+			for (int i = 0; i < rows; i++) {
+				int length = 0;
+				if (!isNullObject(isNull, i)) {
+					length = in.readInt();
+					in.readFully(column.bytes, column.reserve(i, length), length);
+				}
+				column.offsets[i + 1] = column.offsets[i] + length;
+			}
+			return column;
+		}
 	}
 
     private class BinaryColumnSerializer extends ColumnSerializer {
@@ -377,6 +392,12 @@ public class Batch3Serializer extends BatchSerializer {
     			List<List<Object>> batch, byte[] isNull, List<Object> cache) throws IOException,
     			ClassNotFoundException {
     	}
+
+    	@Override
+    	public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) {
+    		Arrays.fill(isNull, (byte)0xFF);
+    		return new ColumnarBatch.ObjectColumn(isNull, rows);
+    	}
     }
 
     private class ClobColumnSerializer1 extends ColumnSerializer {
@@ -529,6 +550,17 @@ public class Batch3Serializer extends BatchSerializer {
             }
         }
 
+        public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) throws IOException, ClassNotFoundException {
+            readIsNullData(in, isNull);
+            ColumnarBatch.ObjectColumn column = new ColumnarBatch.ObjectColumn(isNull, rows);
+            for (int i = 0; i < rows; i++) {
+                if (!isNullObject(isNull, i)) {
+                    column.values[i] = readObject(in, cache);
+                }
+            }
+            return column;
+        }
+
         protected void writeObject(ObjectOutput out, Object obj, Map<Object, Integer> cache) throws IOException {
         	out.writeObject(obj);
         }
@@ -550,6 +582,17 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return Integer.valueOf(in.readInt());
         }
+        @Override
+        public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) throws IOException {
+            readIsNullData(in, isNull);
+            ColumnarBatch.IntColumn column = new ColumnarBatch.IntColumn(isNull, rows);
+            for (int i = 0; i < rows; i++) {
+                if (!isNullObject(isNull, i)) {
+                    column.values[i] = in.readInt();
+                }
+            }
+            return column;
+        }
     }
 
     private class LongColumnSerializer extends ColumnSerializer {
@@ -561,6 +604,17 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return Long.valueOf(in.readLong());
         }
+        @Override
+        public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) throws IOException {
+            readIsNullData(in, isNull);
+            ColumnarBatch.LongColumn column = new ColumnarBatch.LongColumn(isNull, rows);
+            for (int i = 0; i < rows; i++) {
+                if (!isNullObject(isNull, i)) {
+                    column.values[i] = in.readLong();
+                }
+            }
+            return column;
+        }
     }
 
     private class FloatColumnSerializer extends ColumnSerializer {
@@ -583,6 +637,17 @@ public class Batch3Serializer extends BatchSerializer {
 		protected Object readObject(ObjectInput in, List<Object> cache) throws IOException {
             return new Double(in.readDouble());
         }
+        @Override
+        public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) throws IOException {
+            readIsNullData(in, isNull);
+            ColumnarBatch.DoubleColumn column = new ColumnarBatch.DoubleColumn(isNull, rows);
+            for (int i = 0; i < rows; i++) {
+                if (!isNullObject(isNull, i)) {
+                    column.values[i] = in.readDouble();
+                }
+            }
+            return column;
+        }
     }
 
     private class ShortColumnSerializer extends ColumnSerializer {
@@ -663,6 +728,33 @@ public class Batch3Serializer extends BatchSerializer {
                 }
             }
         }
+
+    	@Override
+    	public ColumnarBatch.Column readColumnar(ObjectInput in, int rows, byte[] isNull, List<Object> cache) throws IOException {
+    	    ColumnarBatch.BooleanColumn column = new ColumnarBatch.BooleanColumn(isNull, rows);
+            int currentByte = 0, mask = 0;
+            for (int row = 0; row < rows; row++) {
+                if (mask == 0) {
+                    currentByte = in.read();
+                    mask = 0x80;
+                }
+                boolean isNullVal = (currentByte & mask) != 0;
+                mask >>= 1;
+                if (isNullVal) {
+                    isNull[row / 8] |= 0x01 << (7 - (row % 8));
+                } else {
+                    if (mask == 0) {
+                        currentByte = in.read();
+                        mask = 0x80;
+                    }
+                    if ((currentByte & mask) != 0) {
+                        column.set(row);
+                    }
+                    mask >>= 1;
+                }
+            }
+            return column;
+    	}
     }
 
     private class ByteColumnSerializer extends ColumnSerializer {
@@ -871,6 +963,11 @@ public class Batch3Serializer extends BatchSerializer {
 
     @Override
     public List<List<Object>> readBatch(ObjectInput in, String[] types) throws IOException, ClassNotFoundException {
+    	return readBatch(in, types, false);
+    }
+
+    @Override
+    public List<List<Object>> readBatch(ObjectInput in, String[] types, boolean columnar) throws IOException, ClassNotFoundException {
     	int rows = 0;
     	try {
     		rows = in.readInt();
@@ -896,9 +993,12 @@ public class Batch3Serializer extends BatchSerializer {
         	version = in.readByte();
         }
         int columns = in.readInt();
-        List<List<Object>> batch = new ResizingArrayList<List<Object>>(rows);
         int numBytes = rows/8;
         int extraRows = rows % 8;
+        if (columnar) {
+        	return readColumnarBatch(in, types, version, rows, columns, (extraRows > 0) ? numBytes + 1: numBytes);
+        }
+        List<List<Object>> batch = new ResizingArrayList<List<Object>>(rows);
         for (int currentRow = 0; currentRow < rows; currentRow++) {
             batch.add(currentRow, Arrays.asList(new Object[columns]));
         }
@@ -913,4 +1013,18 @@ public class Batch3Serializer extends BatchSerializer {
         }
         return batch;
     }
+
+    private ColumnarBatch readColumnarBatch(ObjectInput in, String[] types, byte version, int rows, int columns, int isNullLength) throws IOException, ClassNotFoundException {
+        ColumnarBatch.Column[] result = new ColumnarBatch.Column[columns];
+        List<Object> cache = null;
+        for (int col = 0; col < columns; col++) {
+            ColumnSerializer serializer = getSerializer(types[col], version);
+            if (cache == null && serializer.usesCache(version)) {
+        		cache = new ArrayList<Object>();
+        	}
+            //each column keeps its own null bitmap
+            result[col] = serializer.readColumnar(in, rows, new byte[isNullLength], cache);
+        }
+        return new ColumnarBatch(result, rows);
+    }
 }
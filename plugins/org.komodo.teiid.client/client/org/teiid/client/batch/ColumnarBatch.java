@@ -0,0 +1,351 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.client.batch;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.teiid.core.types.BinaryTypeImpl;
+
+/**
+ * A batch of results held by column rather than by row.
+ * <p>
+ * Integer, long, double and boolean values are held in primitive arrays, varbinary values share
+ * a single byte array and all other values are held in an object array per column. Each column
+ * has its own null bitmap, in the same packed form that is sent over the wire.
+ * <p>
+ * The rows are lightweight views, so the batch can be used wherever a {@link List} of rows is
+ * expected. Values are only boxed when a row is asked for them through {@link List#get(int)},
+ * while {@link #getInt(int, int)} and the other typed accessors read the arrays directly.
+ */
+public class ColumnarBatch extends AbstractList<List<Object>> implements RandomAccess {
+
+	/**
+	 * The storage used for a column
+	 */
+	public enum Storage {
+		OBJECT, INT, LONG, DOUBLE, BOOLEAN, BINARY
+	}
+
+	static abstract class Column {
+		private final byte[] isNull;
+
+		Column(byte[] isNull) {
+			this.isNull = isNull;
+		}
+
+		boolean isNull(int row) {
+			return Batch3Serializer.isNullObject(isNull, row);
+		}
+
+		abstract Storage getStorage();
+
+		abstract Object getObject(int row);
+	}
+
+	static class ObjectColumn extends Column {
+		final Object[] values;
+
+		ObjectColumn(byte[] isNull, int rows) {
+			super(isNull);
+			this.values = new Object[rows];
+		}
+
+		@Override
+		Storage getStorage() {
+			return Storage.OBJECT;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return values[row];
+		}
+	}
+
+	static class IntColumn extends Column {
+		final int[] values;
+
+		IntColumn(byte[] isNull, int rows) {
+			super(isNull);
+			this.values = new int[rows];
+		}
+
+		@Override
+		Storage getStorage() {
+			return Storage.INT;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return Integer.valueOf(values[row]);
+		}
+	}
+
+	static class LongColumn extends Column {
+		final long[] values;
+
+		LongColumn(byte[] isNull, int rows) {
+			super(isNull);
+			this.values = new long[rows];
+		}
+
+		@Override
+		Storage getStorage() {
+			return Storage.LONG;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return Long.valueOf(values[row]);
+		}
+	}
+
+	static class DoubleColumn extends Column {
+		final double[] values;
+
+		DoubleColumn(byte[] isNull, int rows) {
+			super(isNull);
+			this.values = new double[rows];
+		}
+
+		@Override
+		Storage getStorage() {
+			return Storage.DOUBLE;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return Double.valueOf(values[row]);
+		}
+	}
+
+	static class BooleanColumn extends Column {
+		/*
+		 * Packed in the same way as the null bitmap
+		 */
+		final byte[] values;
+
+		BooleanColumn(byte[] isNull, int rows) {
+			super(isNull);
+			this.values = new byte[(rows + 7) / 8];
+		}
+
+		void set(int row) {
+			values[row / 8] |= 0x01 << (7 - (row % 8));
+		}
+
+		boolean getBoolean(int row) {
+			return Batch3Serializer.isNullObject(values, row);
+		}
+
+		@Override
+		Storage getStorage() {
+			return Storage.BOOLEAN;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return getBoolean(row) ? Boolean.TRUE : Boolean.FALSE;
+		}
+	}
+
+	static class BinaryColumn extends Column {
+		/*
+		 * The value of row i is bytes[offsets[i], offsets[i + 1])
+		 */
+		final int[] offsets;
+		byte[] bytes;
+
+		BinaryColumn(byte[] isNull, int rows) {
+			super(isNull);
+			this.offsets = new int[rows + 1];
+			this.bytes = new byte[Math.max(16, rows * 8)];
+		}
+
+		int reserve(int row, int length) {
+			int offset = offsets[row];
+			if (offset + length > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(offset + length, bytes.length * 2));
+			}
+			return offset;
+		}
+
+		byte[] getBytes(int row) {
+			return Arrays.copyOfRange(bytes, offsets[row], offsets[row + 1]);
+		}
+
+		@Override
+		Storage getStorage() {
+			return Storage.BINARY;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return new BinaryTypeImpl(getBytes(row));
+		}
+	}
+
+	/**
+	 * A row of the batch
+	 */
+	public final class Row extends AbstractList<Object> implements RandomAccess {
+		private final int row;
+
+		Row(int row) {
+			this.row = row;
+		}
+
+		/**
+		 * @return the batch holding this row
+		 */
+		public ColumnarBatch getBatch() {
+			return ColumnarBatch.this;
+		}
+
+		/**
+		 * @return the index of this row in its batch
+		 */
+		public int getIndex() {
+			return row;
+		}
+
+		@Override
+		public Object get(int index) {
+			return getObject(index, row);
+		}
+
+		@Override
+		public int size() {
+			return columns.length;
+		}
+	}
+
+	private final Column[] columns;
+	private final Row[] rows;
+
+	ColumnarBatch(Column[] columns, int rowCount) {
+		this.columns = columns;
+		this.rows = new Row[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			this.rows[i] = new Row(i);
+		}
+	}
+
+	@Override
+	public List<Object> get(int index) {
+		return rows[index];
+	}
+
+	@Override
+	public int size() {
+		return rows.length;
+	}
+
+	/**
+	 * @return the number of columns
+	 */
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	/**
+	 * @param column the zero based column index
+	 * @return the storage used for the column
+	 */
+	public Storage getStorage(int column) {
+		return columns[column].getStorage();
+	}
+
+	/**
+	 * @param column the zero based column index
+	 * @param row the zero based row index
+	 * @return true if the value is null
+	 */
+	public boolean isNull(int column, int row) {
+		return columns[column].isNull(row);
+	}
+
+	/**
+	 * @param column the zero based column index
+	 * @param row the zero based row index
+	 * @return the value, boxed if the column uses primitive storage
+	 */
+	public Object getObject(int column, int row) {
+		Column c = columns[column];
+		if (c.isNull(row)) {
+			return null;
+		}
+		return c.getObject(row);
+	}
+
+	/**
+	 * @param column the zero based column index of an {@link Storage#INT} column
+	 * @param row the zero based row index
+	 * @return the value, or 0 if it is null
+	 */
+	public int getInt(int column, int row) {
+		return ((IntColumn)columns[column]).values[row];
+	}
+
+	/**
+	 * @param column the zero based column index of a {@link Storage#LONG} column
+	 * @param row the zero based row index
+	 * @return the value, or 0 if it is null
+	 */
+	public long getLong(int column, int row) {
+		return ((LongColumn)columns[column]).values[row];
+	}
+
+	/**
+	 * @param column the zero based column index of a {@link Storage#DOUBLE} column
+	 * @param row the zero based row index
+	 * @return the value, or 0 if it is null
+	 */
+	public double getDouble(int column, int row) {
+		return ((DoubleColumn)columns[column]).values[row];
+	}
+
+	/**
+	 * @param column the zero based column index of a {@link Storage#BOOLEAN} column
+	 * @param row the zero based row index
+	 * @return the value, or false if it is null
+	 */
+	public boolean getBoolean(int column, int row) {
+		return ((BooleanColumn)columns[column]).getBoolean(row);
+	}
+
+	/**
+	 * @param column the zero based column index of a {@link Storage#BINARY} column
+	 * @param row the zero based row index
+	 * @return a copy of the value, or null if it is null
+	 */
+	public byte[] getBytes(int column, int row) {
+		BinaryColumn c = (BinaryColumn)columns[column];
+		if (c.isNull(row)) {
+			return null;
+		}
+		return c.getBytes(row);
+	}
+}
@@ -91,8 +91,10 @@ public class JDBCURL {
     	        TeiidURL.CONNECTION.JAAS_NAME,
     	        TeiidURL.CONNECTION.KERBEROS_SERVICE_PRINCIPLE_NAME,
     	        TeiidURL.CONNECTION.ENCRYPT_REQUESTS,
+    	        TeiidURL.CONNECTION.USE_NIO,
     	        DatabaseMetaDataImpl.REPORT_AS_VIEWS,
-                ResultSetImpl.DISABLE_FETCH_SIZE));
+                ResultSetImpl.DISABLE_FETCH_SIZE,
+                ResultSetImpl.COLUMNAR_BATCHES));
     	props.addAll(EXECUTION_PROPERTIES.keySet());
     	Map<String, String> result = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
     	for (String string : props) {
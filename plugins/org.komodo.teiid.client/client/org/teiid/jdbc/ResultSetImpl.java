@@ -56,6 +56,8 @@ import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.ResultsMessage;
+import org.teiid.client.batch.ColumnarBatch;
+import org.teiid.client.batch.ColumnarBatch.Storage;
 import org.teiid.client.lob.LobChunkInputStream;
 import org.teiid.client.lob.StreamingLobChunckProducer;
 import org.teiid.client.plan.PlanNode;
@@ -83,6 +85,14 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	public static final String DISABLE_FETCH_SIZE = "disableResultSetFetchSize"; //$NON-NLS-1$
 
+	public static final String COLUMNAR_BATCHES = "columnarResultBatches"; //$NON-NLS-1$
+
+	/*
+	 * Set as the current value when a non-null value is read directly from a columnar batch,
+	 * so that wasNull() stays accurate without boxing the value
+	 */
+	private static final Object PRIMITIVE_VALUE = new Object();
+
 	// the object which was last read from Results
 	private Object currentValue;
 
@@ -123,6 +133,10 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	
 	private Boolean disableFetchSize;
 
+	private static boolean COLUMNAR_BATCHES_DEFAULT = PropertiesUtils.getBooleanProperty(System.getProperties(), "org.teiid." + COLUMNAR_BATCHES, false); //$NON-NLS-1$
+
+	private Boolean columnarBatches;
+
 	/**
 	 * Constructor.
 	 * 
@@ -485,7 +499,7 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 			//fetch before processing the results
 			prefetch = submitRequestBatch(currentResultMsg.getLastRow() + 1);
 		}
-		currentResultMsg.processResults();
+		currentResultMsg.processResults(useColumnarBatches());
 		List<?> lastTuple = null;
 		List<List<?>> resultsList = (List<List<?>>) currentResultMsg.getResultsList();
 		//similar logic to BatchCollector on the server side
@@ -530,6 +544,42 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 		return result;
 	}
     
+	private boolean useColumnarBatches() throws SQLException {
+		if (columnarBatches == null) {
+			ConnectionImpl connection = statement.getConnection();
+			if (connection == null) {
+				columnarBatches = COLUMNAR_BATCHES_DEFAULT;
+			} else {
+				columnarBatches = PropertiesUtils.getBooleanProperty(connection.getConnectionProps(), COLUMNAR_BATCHES, COLUMNAR_BATCHES_DEFAULT);
+			}
+		}
+		return columnarBatches;
+	}
+
+	/**
+	 * Get the current row if it is held by a {@link ColumnarBatch}, so that typed getters
+	 * can read its values without boxing them.
+	 * @param column Column index
+	 * @return the row, or null if the value should be read with {@link #getObject(int)}
+	 * @throws SQLException
+	 */
+	private ColumnarBatch.Row getColumnarRow(int column) throws SQLException {
+		if (isClosed || column < 1 || column > resultColumns) {
+			return null;
+		}
+		List<?> cursorRow = batchResults.getCurrentRow();
+		if (cursorRow instanceof ColumnarBatch.Row) {
+			return (ColumnarBatch.Row)cursorRow;
+		}
+		return null;
+	}
+
+	private boolean setPrimitiveValue(ColumnarBatch.Row row, int column) {
+		boolean isNull = row.getBatch().isNull(column, row.getIndex());
+		currentValue = isNull ? null : PRIMITIVE_VALUE;
+		return isNull;
+	}
+
 	protected int getFinalRowNumber() {
     	return Math.max(-1, batchResults.getFinalRowNumber() - getOffset());
 	}
@@ -637,6 +687,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	@Override
     public boolean getBoolean(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex);
+		if (row != null && row.getBatch().getStorage(columnIndex - 1) == Storage.BOOLEAN) {
+			if (setPrimitiveValue(row, columnIndex - 1)) {
+				return false;
+			}
+			return row.getBatch().getBoolean(columnIndex - 1, row.getIndex());
+		}
 		return DataTypeTransformer.getBoolean(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -751,6 +808,21 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 
 	@Override
     public double getDouble(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex);
+		if (row != null) {
+			ColumnarBatch batch = row.getBatch();
+			int column = columnIndex - 1;
+			switch (batch.getStorage(column)) {
+				case DOUBLE:
+					return setPrimitiveValue(row, column) ? 0 : batch.getDouble(column, row.getIndex());
+				case LONG:
+					return setPrimitiveValue(row, column) ? 0 : batch.getLong(column, row.getIndex());
+				case INT:
+					return setPrimitiveValue(row, column) ? 0 : batch.getInt(column, row.getIndex());
+				default:
+					break;
+			}
+		}
 		return DataTypeTransformer.getDouble(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -813,6 +885,13 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	 */
 	@Override
     public int getInt(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex);
+		if (row != null && row.getBatch().getStorage(columnIndex - 1) == Storage.INT) {
+			if (setPrimitiveValue(row, columnIndex - 1)) {
+				return 0;
+			}
+			return row.getBatch().getInt(columnIndex - 1, row.getIndex());
+		}
 		return DataTypeTransformer.getInteger(getTeiidVersion(), getObject(columnIndex));
 	}
 
@@ -841,6 +920,19 @@ public class ResultSetImpl extends WrapperImpl implements TeiidResultSet, BatchF
 	 */
 	@Override
     public long getLong(int columnIndex) throws SQLException {
+		ColumnarBatch.Row row = getColumnarRow(columnIndex);
+		if (row != null) {
+			ColumnarBatch batch = row.getBatch();
+			int column = columnIndex - 1;
+			switch (batch.getStorage(column)) {
+				case LONG:
+					return setPrimitiveValue(row, column) ? 0 : batch.getLong(column, row.getIndex());
+				case INT:
+					return setPrimitiveValue(row, column) ? 0 : batch.getInt(column, row.getIndex());
+				default:
+					break;
+			}
+		}
 		return DataTypeTransformer.getLong(getTeiidVersion(), getObject(columnIndex));
 	}
 
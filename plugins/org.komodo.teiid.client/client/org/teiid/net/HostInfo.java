@@ -42,6 +42,7 @@ public class HostInfo {
     private int portNumber = 0;
     private InetAddress inetAddress;
     private boolean ssl;
+    private boolean nio;
     
     /**
      * Construct a fully resolved {@link HostInfo}.
@@ -122,6 +123,9 @@ public class HostInfo {
         if (ssl != hostInfo.ssl) {
                 return false;
         }
+        if (nio != hostInfo.nio) {
+                return false;
+        }
         if (inetAddress != null && hostInfo.inetAddress != null) {
         	return inetAddress.equals(hostInfo.inetAddress);
         }
@@ -158,4 +162,18 @@ public class HostInfo {
 		this.ssl = ssl;
 	}
 
+    /**
+     * @return is connected through the nio channel factory
+     */
+    public boolean isNio() {
+		return nio;
+	}
+
+    /**
+     * @param nio
+     */
+    public void setNio(boolean nio) {
+		this.nio = nio;
+	}
+
 }
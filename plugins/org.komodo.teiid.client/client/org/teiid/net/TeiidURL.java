@@ -133,6 +133,10 @@ public class TeiidURL {
 		 * Constant for encrypting requests
 		 */
 		String ENCRYPT_REQUESTS = "encryptRequests"; //$NON-NLS-1$;
+		/**
+		 * Constant for multiplexing socket connections on shared selector threads
+		 */
+		String USE_NIO = "useNio"; //$NON-NLS-1$
 		
 	}
 
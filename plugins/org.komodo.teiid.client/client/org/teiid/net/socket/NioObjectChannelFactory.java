@@ -0,0 +1,778 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.net.socket;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLEngineResult.Status;
+import org.teiid.client.util.ResultsFuture;
+import org.teiid.core.util.AccessibleBufferedInputStream;
+import org.teiid.core.util.PropertiesUtils;
+import org.teiid.net.CommunicationException;
+import org.teiid.net.socket.SocketUtil.SSLSocketFactory;
+import org.teiid.netty.handler.codec.serialization.ObjectDecoderInputStream;
+import org.teiid.netty.handler.codec.serialization.ObjectEncoderOutputStream;
+
+/**
+ * An {@link ObjectChannelFactory} whose channels share a small group of selector threads rather
+ * than each blocking a thread on its socket. The selector threads move bytes between the sockets,
+ * using an {@link SSLEngine} for ssl, and buffers taken from a pool of direct buffers. Objects are
+ * encoded and decoded on the threads calling {@link ObjectChannel#write(Object)} and
+ * {@link ObjectChannel#read()}, with the same wire format as {@link OioOjbectChannelFactory}.
+ * <p>
+ * The bytes buffered for a channel in either direction are bounded. Reading from a socket is
+ * suspended while its unread bytes exceed the bound and writers wait while their unsent bytes do.
+ */
+public final class NioObjectChannelFactory implements ObjectChannelFactory {
+
+	private final static int STREAM_BUFFER_SIZE = 1<<15;
+	private final static int DEFAULT_MAX_OBJECT_SIZE = 1 << 25;
+
+	/*
+	 * Larger than the packet and application buffer sizes of an SSLEngine
+	 */
+	private final static int BUFFER_SIZE = 1<<16;
+	private final static int MAX_POOLED_BUFFERS = 256;
+	private final static int MAX_BUFFERED_BYTES = 1<<22;
+
+	private static Logger log = Logger.getLogger("org.teiid.client.sockets"); //$NON-NLS-1$
+
+	private final static ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	/**
+	 * Direct buffers shared by all channels
+	 */
+	final static class BufferPool {
+		private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+		private final AtomicInteger size = new AtomicInteger();
+
+		ByteBuffer acquire() {
+			ByteBuffer buffer = buffers.poll();
+			if (buffer == null) {
+				return ByteBuffer.allocateDirect(BUFFER_SIZE);
+			}
+			size.decrementAndGet();
+			return buffer;
+		}
+
+		void release(ByteBuffer buffer) {
+			if (size.incrementAndGet() > MAX_POOLED_BUFFERS) {
+				size.decrementAndGet();
+				return;
+			}
+			buffer.clear();
+			buffers.offer(buffer);
+		}
+	}
+
+	/**
+	 * A selector thread serving many channels
+	 */
+	final static class IoThread extends Thread {
+		private final Selector selector;
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+		IoThread(String name) throws IOException {
+			super(name);
+			setDaemon(true);
+			this.selector = Selector.open();
+		}
+
+		void execute(Runnable task) {
+			tasks.offer(task);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				try {
+					selector.select();
+					Runnable task = null;
+					while ((task = tasks.poll()) != null) {
+						task.run();
+					}
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					while (keys.hasNext()) {
+						SelectionKey key = keys.next();
+						keys.remove();
+						((NioObjectChannel)key.attachment()).handleIo(key);
+					}
+				} catch (Throwable e) {
+					log.log(Level.WARNING, "Error in socket selector thread", e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bytes received by the selector thread and waiting to be decoded
+	 */
+	final static class InboundStream extends InputStream {
+		private final NioObjectChannel channel;
+		private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<ByteBuffer>();
+		private int count;
+		private boolean eof;
+
+		InboundStream(NioObjectChannel channel) {
+			this.channel = channel;
+		}
+
+		synchronized void add(ByteBuffer buffer) {
+			buffers.add(buffer);
+			count += buffer.remaining();
+			notifyAll();
+		}
+
+		synchronized void end() {
+			eof = true;
+			notifyAll();
+		}
+
+		synchronized boolean isFull() {
+			return count > MAX_BUFFERED_BYTES;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			if (read(b, 0, 1) < 0) {
+				return -1;
+			}
+			return b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			boolean resume = false;
+			int read = 0;
+			synchronized (this) {
+				long timeout = channel.factory.soTimeout;
+				long end = System.currentTimeMillis() + timeout;
+				while (buffers.isEmpty()) {
+					if (eof) {
+						return -1;
+					}
+					long wait = 0;
+					if (timeout > 0) {
+						wait = end - System.currentTimeMillis();
+						if (wait <= 0) {
+							throw new SocketTimeoutException();
+						}
+					}
+					try {
+						wait(wait);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new SocketTimeoutException();
+					}
+				}
+				boolean full = count > MAX_BUFFERED_BYTES;
+				while (read < len && !buffers.isEmpty()) {
+					ByteBuffer buffer = buffers.peek();
+					int toRead = Math.min(len - read, buffer.remaining());
+					buffer.get(b, off + read, toRead);
+					read += toRead;
+					if (!buffer.hasRemaining()) {
+						buffers.poll();
+						channel.factory.pool.release(buffer);
+					}
+				}
+				count -= read;
+				resume = full && count <= MAX_BUFFERED_BYTES;
+			}
+			if (resume) {
+				channel.updateInterest();
+			}
+			return read;
+		}
+
+		@Override
+		public synchronized int available() {
+			return count;
+		}
+	}
+
+	/**
+	 * Collects encoded bytes in pooled buffers and passes them to the channel
+	 */
+	final static class OutboundStream extends OutputStream {
+		private final NioObjectChannel channel;
+		private ByteBuffer buffer;
+
+		OutboundStream(NioObjectChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte)b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				if (buffer == null) {
+					buffer = channel.factory.pool.acquire();
+				}
+				int toWrite = Math.min(len, buffer.remaining());
+				buffer.put(b, off, toWrite);
+				off += toWrite;
+				len -= toWrite;
+				if (!buffer.hasRemaining()) {
+					flush();
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (buffer != null) {
+				ByteBuffer toSend = buffer;
+				buffer = null;
+				toSend.flip();
+				channel.send(toSend);
+			}
+		}
+	}
+
+	final static class NioObjectChannel implements ObjectChannel {
+		private final NioObjectChannelFactory factory;
+		private final IoThread ioThread;
+		private final SocketChannel socketChannel;
+		private final SSLEngine engine;
+		private final InboundStream inbound;
+		private final ObjectInputStream inputStream;
+		private final ObjectOutputStream outputStream;
+		private final Object readLock = new Object();
+
+		/*
+		 * Buffers to write and the futures of the messages they end, guarded by outbound
+		 */
+		private final ArrayDeque<Object> outbound = new ArrayDeque<Object>();
+		private int outboundCount;
+		private volatile boolean closed;
+
+		/*
+		 * Only used by the selector thread
+		 */
+		private SelectionKey key;
+		private ByteBuffer netIn;
+		private ByteBuffer netOut;
+		private ByteBuffer appIn;
+
+		NioObjectChannel(NioObjectChannelFactory factory, IoThread ioThread, SocketChannel socketChannel, SSLEngine engine) throws IOException {
+			log.fine("creating new NioObjectChannel"); //$NON-NLS-1$
+			this.factory = factory;
+			this.ioThread = ioThread;
+			this.socketChannel = socketChannel;
+			this.engine = engine;
+			this.inbound = new InboundStream(this);
+			this.outputStream = new ObjectEncoderOutputStream(new DataOutputStream(new OutboundStream(this)), STREAM_BUFFER_SIZE);
+			final ClassLoader cl = this.getClass().getClassLoader();
+			this.inputStream = new ObjectDecoderInputStream(new AccessibleBufferedInputStream(inbound, STREAM_BUFFER_SIZE), cl, factory.maxObjectSize);
+		}
+
+		void register() throws IOException {
+			final ResultsFuture<Void> registered = new ResultsFuture<Void>();
+			ioThread.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						key = socketChannel.register(ioThread.selector, SelectionKey.OP_READ, NioObjectChannel.this);
+						netIn = factory.pool.acquire();
+						if (engine != null) {
+							netOut = factory.pool.acquire();
+							appIn = factory.pool.acquire();
+							engine.beginHandshake();
+							handleIo(key);
+						}
+						registered.getResultsReceiver().receiveResults(null);
+					} catch (Exception e) {
+						registered.getResultsReceiver().exceptionOccurred(e);
+					}
+				}
+			});
+			try {
+				registered.get();
+			} catch (Exception e) {
+				close();
+				if (e.getCause() instanceof IOException) {
+					throw (IOException)e.getCause();
+				}
+				throw new IOException(e);
+			}
+		}
+
+		/*
+		 * Called by writers to queue an encoded buffer, waiting while too many bytes are queued
+		 */
+		void send(ByteBuffer buffer) throws IOException {
+			synchronized (outbound) {
+				while (outboundCount > MAX_BUFFERED_BYTES && !closed) {
+					try {
+						outbound.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException(e);
+					}
+				}
+				if (closed) {
+					throw new ClosedChannelException();
+				}
+				outbound.add(buffer);
+				outboundCount += buffer.remaining();
+			}
+			updateInterest();
+		}
+
+		void updateInterest() {
+			ioThread.execute(new Runnable() {
+				@Override
+				public void run() {
+					handleIo(key);
+				}
+			});
+		}
+
+		/*
+		 * Called by the selector thread when the socket is ready or the channel's buffers have changed
+		 */
+		void handleIo(SelectionKey selectionKey) {
+			if (closed || selectionKey == null || !selectionKey.isValid()) {
+				return;
+			}
+			try {
+				if (selectionKey.isReadable()) {
+					readSocket();
+				}
+				if (engine == null) {
+					writePlain();
+				} else {
+					while (!closed && (unwrap() | wrap())) {
+						// continue while the engine makes progress
+					}
+				}
+				if (!closed) {
+					int ops = 0;
+					if (!inbound.isFull()) {
+						ops |= SelectionKey.OP_READ;
+					}
+					if (hasPendingWrites()) {
+						ops |= SelectionKey.OP_WRITE;
+					}
+					selectionKey.interestOps(ops);
+				}
+			} catch (Exception e) {
+				log.log(Level.FINE, "Error on socket", e); //$NON-NLS-1$
+				close();
+			}
+		}
+
+		private boolean hasPendingWrites() {
+			if (engine != null) {
+				if (netOut.position() > 0 || engine.getHandshakeStatus() == HandshakeStatus.NEED_WRAP) {
+					return true;
+				}
+				if (engine.getHandshakeStatus() == HandshakeStatus.NEED_UNWRAP) {
+					return false;
+				}
+			}
+			synchronized (outbound) {
+				return !outbound.isEmpty();
+			}
+		}
+
+		private void readSocket() throws IOException {
+			int read = socketChannel.read(netIn);
+			if (read < 0) {
+				if (engine != null) {
+					try {
+						engine.closeInbound();
+					} catch (IOException e) {
+						// truncated close
+					}
+				}
+				close();
+				return;
+			}
+			if (engine == null && netIn.position() > 0) {
+				netIn.flip();
+				inbound.add(netIn);
+				netIn = factory.pool.acquire();
+			}
+		}
+
+		private void writePlain() throws IOException {
+			synchronized (outbound) {
+				while (!outbound.isEmpty()) {
+					Object next = outbound.peek();
+					if (next instanceof ResultsFuture) {
+						outbound.poll();
+						((ResultsFuture<?>)next).getResultsReceiver().receiveResults(null);
+						continue;
+					}
+					ByteBuffer buffer = (ByteBuffer)next;
+					int written = socketChannel.write(buffer);
+					outboundCount -= written;
+					outbound.notifyAll();
+					if (buffer.hasRemaining()) {
+						return;
+					}
+					outbound.poll();
+					factory.pool.release(buffer);
+				}
+			}
+		}
+
+		/*
+		 * @return true if the engine consumed or produced bytes
+		 */
+		private boolean unwrap() throws IOException {
+			if (netIn.position() == 0 && engine.getHandshakeStatus() != HandshakeStatus.NEED_UNWRAP) {
+				return false;
+			}
+			boolean progress = false;
+			netIn.flip();
+			try {
+				while (true) {
+					SSLEngineResult result = engine.unwrap(netIn, appIn);
+					runDelegatedTasks();
+					progress |= result.bytesConsumed() > 0 || result.bytesProduced() > 0;
+					if (result.getStatus() == Status.BUFFER_OVERFLOW) {
+						deliverAppIn();
+						continue;
+					}
+					if (result.getStatus() == Status.CLOSED) {
+						close();
+						break;
+					}
+					if (result.getStatus() == Status.BUFFER_UNDERFLOW || !netIn.hasRemaining()
+							|| (result.bytesConsumed() == 0 && result.bytesProduced() == 0)) {
+						break;
+					}
+				}
+			} finally {
+				netIn.compact();
+			}
+			if (appIn.position() > 0) {
+				deliverAppIn();
+			}
+			return progress;
+		}
+
+		private void deliverAppIn() {
+			appIn.flip();
+			inbound.add(appIn);
+			appIn = factory.pool.acquire();
+		}
+
+		/*
+		 * @return true if the engine produced bytes that have all been written to the socket
+		 */
+		private boolean wrap() throws IOException {
+			if (!flushNetOut()) {
+				return false;
+			}
+			HandshakeStatus status = engine.getHandshakeStatus();
+			if (status == HandshakeStatus.NEED_UNWRAP) {
+				return false;
+			}
+			ByteBuffer src = EMPTY;
+			synchronized (outbound) {
+				while (outbound.peek() instanceof ResultsFuture) {
+					((ResultsFuture<?>)outbound.poll()).getResultsReceiver().receiveResults(null);
+				}
+				if (!outbound.isEmpty() && (status == HandshakeStatus.NOT_HANDSHAKING || status == HandshakeStatus.FINISHED)) {
+					src = (ByteBuffer)outbound.peek();
+				}
+			}
+			if (src == EMPTY && status != HandshakeStatus.NEED_WRAP) {
+				return false;
+			}
+			int remaining = src.remaining();
+			SSLEngineResult result = engine.wrap(src, netOut);
+			runDelegatedTasks();
+			if (result.getStatus() == Status.CLOSED) {
+				close();
+				return false;
+			}
+			if (src != EMPTY) {
+				synchronized (outbound) {
+					outboundCount -= remaining - src.remaining();
+					outbound.notifyAll();
+					if (!src.hasRemaining()) {
+						outbound.poll();
+						factory.pool.release(src);
+					}
+				}
+			}
+			return result.bytesProduced() > 0 && flushNetOut();
+		}
+
+		private boolean flushNetOut() throws IOException {
+			if (netOut.position() > 0) {
+				netOut.flip();
+				socketChannel.write(netOut);
+				netOut.compact();
+			}
+			return netOut.position() == 0;
+		}
+
+		private void runDelegatedTasks() {
+			if (engine.getHandshakeStatus() == HandshakeStatus.NEED_TASK) {
+				Runnable task = null;
+				while ((task = engine.getDelegatedTask()) != null) {
+					task.run();
+				}
+			}
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			log.finer("closing socket"); //$NON-NLS-1$
+			closed = true;
+			if (engine != null) {
+				engine.closeOutbound();
+			}
+			try {
+				socketChannel.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			inbound.end();
+			synchronized (outbound) {
+				for (Object next : outbound) {
+					if (next instanceof ResultsFuture) {
+						((ResultsFuture<?>)next).getResultsReceiver().exceptionOccurred(new ClosedChannelException());
+					}
+				}
+				outbound.clear();
+				outboundCount = 0;
+				outbound.notifyAll();
+			}
+		}
+
+		@Override
+		public SocketAddress getRemoteAddress() {
+			return socketChannel.socket().getRemoteSocketAddress();
+		}
+
+		@Override
+		public InetAddress getLocalAddress() {
+			return socketChannel.socket().getLocalAddress();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return !closed && socketChannel.isOpen();
+		}
+
+		@Override
+		public Object read() throws IOException, ClassNotFoundException {
+			log.finer("reading message from socket"); //$NON-NLS-1$
+			synchronized (readLock) {
+				try {
+					return inputStream.readObject();
+				} catch (SocketTimeoutException e) {
+					throw e;
+				} catch (IOException e) {
+					close();
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public synchronized Future<?> write(Object msg) {
+			log.finer("writing message to socket"); //$NON-NLS-1$
+			ResultsFuture<Void> result = new ResultsFuture<Void>();
+			try {
+				outputStream.writeObject(msg);
+				outputStream.flush();
+				synchronized (outbound) {
+					if (closed) {
+						throw new ClosedChannelException();
+					}
+					// completed once the buffers before it have been written
+					outbound.add(result);
+				}
+				updateInterest();
+			} catch (IOException e) {
+				close();
+				result.getResultsReceiver().exceptionOccurred(e);
+			}
+			return result;
+		}
+	}
+
+	private Properties props;
+	private int receiveBufferSize = 0;
+	private int sendBufferSize = 0;
+	private boolean conserveBandwidth;
+	private int soTimeout = 3000;
+	private volatile SSLSocketFactory sslSocketFactory;
+	private int maxObjectSize = DEFAULT_MAX_OBJECT_SIZE;
+	private int ioThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+	private final BufferPool pool = new BufferPool();
+	private IoThread[] threads;
+	private final AtomicInteger nextThread = new AtomicInteger();
+
+	public NioObjectChannelFactory(Properties props) {
+		this.props = props;
+		PropertiesUtils.setBeanProperties(this, props, "org.teiid.sockets"); //$NON-NLS-1$
+	}
+
+	private synchronized IoThread nextIoThread() throws IOException {
+		if (threads == null) {
+			IoThread[] result = new IoThread[Math.max(1, ioThreads)];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = new IoThread("NioObjectChannel-" + i); //$NON-NLS-1$
+				result[i].start();
+			}
+			threads = result;
+		}
+		return threads[(nextThread.getAndIncrement() & Integer.MAX_VALUE) % threads.length];
+	}
+
+	@Override
+	public ObjectChannel createObjectChannel(SocketAddress address, boolean ssl) throws IOException,
+			CommunicationException {
+		SSLEngine engine = null;
+		if (ssl) {
+			if (this.sslSocketFactory == null) {
+				try {
+					sslSocketFactory = SocketUtil.getSSLSocketFactory(props);
+				} catch (GeneralSecurityException e) {
+					 throw new CommunicationException(e, e.getMessage());
+				}
+			}
+			if (address instanceof InetSocketAddress) {
+				InetSocketAddress inetAddress = (InetSocketAddress)address;
+				engine = sslSocketFactory.getEngine(inetAddress.getHostString(), inetAddress.getPort());
+			} else {
+				engine = sslSocketFactory.getEngine(null, -1);
+			}
+		}
+		SocketChannel socketChannel = SocketChannel.open();
+		try {
+			Socket socket = socketChannel.socket();
+			if (receiveBufferSize > 0) {
+				socket.setReceiveBufferSize(receiveBufferSize);
+			}
+			if (sendBufferSize > 0) {
+				socket.setSendBufferSize(sendBufferSize);
+			}
+			socket.setTcpNoDelay(!conserveBandwidth); // enable Nagle's algorithm to conserve bandwidth
+			socketChannel.connect(address);
+			socketChannel.configureBlocking(false);
+			NioObjectChannel channel = new NioObjectChannel(this, nextIoThread(), socketChannel, engine);
+			channel.register();
+			return channel;
+		} catch (IOException e) {
+			socketChannel.close();
+			throw e;
+		}
+	}
+
+	public int getSendBufferSize() {
+		return sendBufferSize;
+	}
+
+	public void setSendBufferSize(int sendBufferSize) {
+		this.sendBufferSize = sendBufferSize;
+	}
+
+	public int getReceiveBufferSize() {
+		return receiveBufferSize;
+	}
+
+	public void setReceiveBufferSize(int receiveBufferSize) {
+		this.receiveBufferSize = receiveBufferSize;
+	}
+
+	public boolean isConserveBandwidth() {
+		return conserveBandwidth;
+	}
+
+	public void setConserveBandwidth(boolean conserveBandwidth) {
+		this.conserveBandwidth = conserveBandwidth;
+	}
+
+	public void setSoTimeout(int soTimeout) {
+		this.soTimeout = soTimeout;
+	}
+
+	public void setMaxObjectSize(int maxObjectSize) {
+		this.maxObjectSize = maxObjectSize;
+	}
+
+	public int getSoTimeout() {
+		return soTimeout;
+	}
+
+	public int getIoThreads() {
+		return ioThreads;
+	}
+
+	/**
+	 * @param ioThreads the number of selector threads shared by the channels, set before the first channel is created
+	 */
+	public void setIoThreads(int ioThreads) {
+		this.ioThreads = ioThreads;
+	}
+}
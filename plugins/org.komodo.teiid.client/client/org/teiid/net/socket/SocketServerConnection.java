@@ -72,6 +72,7 @@ public class SocketServerConnection implements ServerConnection {
     private static Logger log = Logger.getLogger("org.teiid.client.sockets"); //$NON-NLS-1$
 
 	private boolean secure;
+	private boolean nio;
     private Properties connProps;
 	
 	private SocketServerInstance serverInstance;
@@ -90,6 +91,7 @@ public class SocketServerConnection implements ServerConnection {
 		this.serverDiscovery = serverDiscovery;
 		this.connProps = connProps;
 		this.secure = secure;
+		this.nio = PropertiesUtils.getBooleanProperty(connProps, TeiidURL.CONNECTION.USE_NIO, false);
 		//ILogon that is allowed to failover
 		this.logon = this.getService(ILogon.class);
 		this.failOver = Boolean.valueOf(connProps.getProperty(TeiidURL.CONNECTION.AUTO_FAILOVER)).booleanValue();
@@ -237,6 +239,7 @@ public class SocketServerConnection implements ServerConnection {
 	private ILogon connect(HostInfo hostInfo) throws CommunicationException,
 			IOException {
 		hostInfo.setSsl(secure);
+		hostInfo.setNio(nio);
 		this.serverInstance = connectionFactory.getServerInstance(hostInfo);
 		this.logonResult = logonResults.get(hostInfo);
 		ILogon newLogon = this.serverInstance.getService(ILogon.class);
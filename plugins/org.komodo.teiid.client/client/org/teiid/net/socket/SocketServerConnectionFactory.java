@@ -148,6 +148,8 @@ public class SocketServerConnectionFactory implements ServerConnectionFactory, S
 	}
 	
     private ObjectChannelFactory channelFactory;
+    private ObjectChannelFactory nioChannelFactory;
+    private Properties channelProperties;
 	private Timer pingTimer;
 	
 	private HashMap<HostInfo, Set<SessionToken>> sessions = new HashMap<HostInfo, Set<SessionToken>>();
@@ -159,6 +161,7 @@ public class SocketServerConnectionFactory implements ServerConnectionFactory, S
 	//config properties
 	private long synchronousTtl = 240000l;
 	private int maxCachedInstances=16;
+	private boolean useNio;
 
 	public static synchronized SocketServerConnectionFactory getInstance() {
 		if (INSTANCE == null) {
@@ -236,6 +239,14 @@ public class SocketServerConnectionFactory implements ServerConnectionFactory, S
 			}
 		}, ServerConnection.PING_INTERVAL, ServerConnection.PING_INTERVAL);
 		this.channelFactory = new OioOjbectChannelFactory(info);
+		this.channelProperties = info;
+	}
+	
+	private synchronized ObjectChannelFactory getNioChannelFactory() {
+		if (this.nioChannelFactory == null) {
+			this.nioChannelFactory = new NioObjectChannelFactory(this.channelProperties);
+		}
+		return this.nioChannelFactory;
 	}
 	
 	@Override
@@ -276,7 +287,7 @@ public class SocketServerConnectionFactory implements ServerConnectionFactory, S
 			}
 		}
 		SocketServerInstanceImpl ssii = new SocketServerInstanceImpl(info, getSynchronousTtl());
-		ssii.connect(this.channelFactory);
+		ssii.connect((info.isNio() || this.useNio) ? getNioChannelFactory() : this.channelFactory);
 		if (useCache) {
 			key.actual = ssii;
 			key.instance = instanceCount.getAndIncrement();
@@ -334,6 +345,17 @@ public class SocketServerConnectionFactory implements ServerConnectionFactory, S
 		this.maxCachedInstances = maxCachedInstances;
 	}
 	
+	public boolean isUseNio() {
+		return useNio;
+	}
+	
+	/**
+	 * @param useNio when true all connections use the {@link NioObjectChannelFactory}
+	 */
+	public void setUseNio(boolean useNio) {
+		this.useNio = useNio;
+	}
+	
 	@Override
 	public void connected(SocketServerInstance instance, SessionToken session) {
 		synchronized (sessions) {
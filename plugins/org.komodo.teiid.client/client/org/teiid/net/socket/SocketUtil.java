@@ -102,9 +102,11 @@ public class SocketUtil {
     	private boolean isAnon;
     	private boolean warned;
     	private javax.net.ssl.SSLSocketFactory factory;
+    	private SSLContext context;
     	
     	public SSLSocketFactory(SSLContext context, boolean isAnon) {
 			this.factory = context.getSocketFactory();
+			this.context = context;
 			this.isAnon = isAnon;
 		}
 
@@ -117,6 +119,16 @@ public class SocketUtil {
     		}
     		return result;
     	}
+
+		public synchronized SSLEngine getEngine(String host, int port) {
+			SSLEngine result = context.createSSLEngine(host, port);
+			result.setUseClientMode(true);
+			if (isAnon && !addCipherSuite(result, ANON_CIPHER_SUITE) && !warned) {
+				warned = true;
+				logger.warning(Messages.getString(Messages.Socket.anon_not_available));
+			}
+			return result;
+		}
     }
     
     public static SSLSocketFactory getSSLSocketFactory(Properties props) throws IOException, GeneralSecurityException{
@@ -164,6 +176,22 @@ public class SocketUtil {
         return true;
     }
 
+    public static boolean addCipherSuite(SSLEngine engine, String cipherSuite) {
+        if (!Arrays.asList(engine.getSupportedCipherSuites()).contains(cipherSuite)) {
+        	return false;
+        }
+
+        String[] suites = engine.getEnabledCipherSuites();
+
+        String[] newSuites = new String[suites.length + 1];
+        System.arraycopy(suites, 0, newSuites, 0, suites.length);
+        
+        newSuites[suites.length] = cipherSuite;
+        
+        engine.setEnabledCipherSuites(newSuites);
+        return true;
+    }
+
     public static SSLContext getAnonSSLContext() throws IOException, GeneralSecurityException {
         return getSSLContext(null, null, null, null, null, null, DEFAULT_PROTOCOL, null, null, false);
     }
@@ -38,6 +38,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.outcome.OutcomeFactory;
 import org.komodo.spi.runtime.EventManager;
@@ -75,6 +86,56 @@ public class TCExecutionAdmin implements ExecutionAdmin {
 
     private static String DYNAMIC_VDB_SUFFIX = "-vdb.xml"; //$NON-NLS-1$
     private static int VDB_LOADING_TIMEOUT_SEC = 300;
+    private static final int MAX_REFRESH_THREADS = 8;
+
+    /*
+     * Runs the independent admin calls of a refresh. Shared by all admins, its threads
+     * are daemons that exit when idle.
+     */
+    private static final ExecutorService REFRESH_EXECUTOR;
+
+    static {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_REFRESH_THREADS, MAX_REFRESH_THREADS,
+                                                             60, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<Runnable>(),
+                                                             new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Teiid admin refresh " + count.incrementAndGet()); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        REFRESH_EXECUTOR = executor;
+    }
+
+    /**
+     * The property definitions of a translator
+     */
+    private static class TranslatorPropertyDefinitions {
+        private final Collection<? extends PropertyDefinition> propDefs;
+        private final Collection<? extends PropertyDefinition> importPropDefs;
+        private final Collection<? extends PropertyDefinition> extPropDefs;
+
+        TranslatorPropertyDefinitions(Collection<? extends PropertyDefinition> propDefs,
+                                      Collection<? extends PropertyDefinition> importPropDefs,
+                                      Collection<? extends PropertyDefinition> extPropDefs) {
+            this.propDefs = propDefs;
+            this.importPropDefs = importPropDefs;
+            this.extPropDefs = extPropDefs;
+        }
+    }
+
+    /*
+     * Translator property definitions rarely change so are loaded once per teiid version,
+     * keyed by version, translator type and translator name
+     */
+    private static final ConcurrentMap<String, TranslatorPropertyDefinitions> TRANSLATOR_PROPERTY_DEFINITIONS =
+        new ConcurrentHashMap<String, TranslatorPropertyDefinitions>();
 
     private final Admin admin;
     protected Map<String, TeiidTranslator> translatorByNameMap;
@@ -83,7 +144,7 @@ public class TCExecutionAdmin implements ExecutionAdmin {
     protected Set<String> dataSourceTypeNames;
     private final TeiidInstance teiidInstance;
     private final AdminSpec adminSpec;
-    private Map<String, TeiidVdb> teiidVdbs;
+    private volatile Map<String, TeiidVdb> teiidVdbs;
     private final ModelConnectionMatcher connectionMatcher;
 
     private boolean loaded = false;
@@ -147,17 +208,13 @@ public class TCExecutionAdmin implements ExecutionAdmin {
     public void deleteDataSource( String dsName ) throws Exception {
         // Check if exists, return false
         if (this.dataSourceNames.contains(dsName)) {
+            TeiidDataSource tds = this.dataSourceByNameMap.get(dsName);
             this.admin.deleteDataSource(dsName);
 
-            if (!this.admin.getDataSourceNames().contains(dsName)) {
-                this.dataSourceNames.remove(dsName);
-                TeiidDataSource tds = this.dataSourceByNameMap.get(dsName);
+            refreshDataSource(dsName);
 
-                if (tds != null) {
-                    this.dataSourceByNameMap.remove(dsName);
-                    this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createRemoveDataSourceEvent(tds));
-
-                }
+            if (!dataSourceExists(dsName) && tds != null) {
+                this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createRemoveDataSourceEvent(tds));
             }
         }
     }
@@ -194,11 +251,12 @@ public class TCExecutionAdmin implements ExecutionAdmin {
             // ignore
         }   
                       
-        // Refresh VDBs list
-        refreshVDBs();
-
+        // Refresh the deployed VDB
         // TODO should get version from vdbFile
-        VDB vdb = admin.getVDB(vdbName, vdbVersion);
+        VDB vdb = loadVdb(vdbName, vdbVersion);
+        if (vdb == null) {
+            return;
+        }
 
         Thread refreshThread = new RefreshThread(vdb);
         refreshThread.start();
@@ -278,7 +336,8 @@ public class TCExecutionAdmin implements ExecutionAdmin {
                 // Try to deploy the jars
                 deployJars(this.admin,jarList);
                 
-                refresh();
+                // only the data source types change when drivers are deployed
+                refreshDataSourceTypes();
                 
                 // Retry the name match after deployment.
                 dsNameMatch = getDSMatchForDriverClass(connProfileDriverClass);
@@ -584,35 +643,156 @@ public class TCExecutionAdmin implements ExecutionAdmin {
      * @throws Exception if refreshing admin connection fails
      */
     public void refresh() throws Exception {
-        // populate translator map
-        refreshTranslators(this.admin.getTranslators());
+        // the lists of translators, data source types, data sources and VDBs are independent
+        Future<Collection<? extends Translator>> translators = REFRESH_EXECUTOR.submit(new Callable<Collection<? extends Translator>>() {
+            @Override
+            public Collection<? extends Translator> call() throws Exception {
+                return admin.getTranslators();
+            }
+        });
+        Future<Set<String>> dataSourceTypes = REFRESH_EXECUTOR.submit(new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return admin.getDataSourceTemplateNames();
+            }
+        });
+        Future<Collection<String>> dataSources = REFRESH_EXECUTOR.submit(new Callable<Collection<String>>() {
+            @Override
+            public Collection<String> call() throws Exception {
+                return admin.getDataSourceNames();
+            }
+        });
+        Future<Collection<? extends VDB>> vdbs = REFRESH_EXECUTOR.submit(new Callable<Collection<? extends VDB>>() {
+            @Override
+            public Collection<? extends VDB> call() throws Exception {
+                return admin.getVDBs();
+            }
+        });
 
         // populate data source type names set
-        refreshDataSourceTypes();
+        this.dataSourceTypeNames = new HashSet<String>(getResult(dataSourceTypes));
 
         // populate data source names list
-        refreshDataSourceNames();
+        this.dataSourceNames = new ArrayList<String>(getResult(dataSources));
 
-        this.dataSourceByNameMap.clear();
-        Collection<TeiidDataSource> tdsList = connectionMatcher.findTeiidDataSources(this.dataSourceNames);
-        for (TeiidDataSource ds : tdsList) {
-            // Get Properties for the source
-            Properties dsProps = this.admin.getDataSource(ds.getName());
-            // Transfer properties to the ITeiidDataSource
-            ds.getProperties().clear();
-            ds.getProperties().putAll(dsProps);
+        // populate translator map, loading the translator and data source properties together
+        Collection<Callable<TeiidTranslator>> translatorTasks = createTranslatorTasks(getResult(translators));
+        Collection<Callable<TeiidDataSource>> dataSourceTasks = new ArrayList<Callable<TeiidDataSource>>();
+        for (TeiidDataSource ds : connectionMatcher.findTeiidDataSources(this.dataSourceNames)) {
+            dataSourceTasks.add(createDataSourceTask(ds));
+        }
+        List<Future<TeiidTranslator>> translatorResults = REFRESH_EXECUTOR.invokeAll(translatorTasks);
+        List<Future<TeiidDataSource>> dataSourceResults = REFRESH_EXECUTOR.invokeAll(dataSourceTasks);
 
+        for (TeiidTranslator translator : getResults(translatorResults)) {
+            this.translatorByNameMap.put(translator.getName(), translator);
+        }
+
+        this.dataSourceByNameMap.clear();
+        for (TeiidDataSource ds : getResults(dataSourceResults)) {
         	// put ds into map
             this.dataSourceByNameMap.put(ds.getName(), ds);
         }
 
         // populate VDBs and source bindings
-        refreshVDBs();
+        setVdbs(getResult(vdbs));
 
         // notify listeners
         this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createTeiidRefreshEvent(this.teiidInstance));
     }
 
+    /**
+     * Refreshes a single data source without reloading the others.
+     * 
+     * @param name the data source name (cannot be empty)
+     * @return the refreshed data source or <code>null</code> if it does not exist
+     * @throws Exception if refreshing the data source fails
+     */
+    public TeiidDataSource refreshDataSource(String name) throws Exception {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+
+        refreshDataSourceNames();
+
+        if (!dataSourceExists(name)) {
+            this.dataSourceByNameMap.remove(name);
+            return null;
+        }
+
+        Collection<TeiidDataSource> tdsList = connectionMatcher.findTeiidDataSources(Collections.singleton(name));
+        if (tdsList.isEmpty()) {
+            return null;
+        }
+
+        TeiidDataSource ds = createDataSourceTask(tdsList.iterator().next()).call();
+        this.dataSourceByNameMap.put(name, ds);
+        return ds;
+    }
+
+    /**
+     * Refreshes a single VDB without reloading the others.
+     * 
+     * @param name the VDB name (cannot be empty)
+     * @param version the VDB version
+     * @return the refreshed VDB or <code>null</code> if it is not deployed
+     * @throws Exception if refreshing the VDB fails
+     */
+    public TeiidVdb refreshVdb(String name, int version) throws Exception {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+
+        loadVdb(name, version);
+        return getVdb(name);
+    }
+
+    /*
+     * Replaces the named VDB in the cached VDBs with its current state on the server
+     */
+    private synchronized VDB loadVdb(String vdbName, int vdbVersion) throws Exception {
+        VDB vdb = this.admin.getVDB(vdbName, vdbVersion);
+
+        Map<String, TeiidVdb> vdbs = new HashMap<String, TeiidVdb>(this.teiidVdbs);
+        if (vdb == null) {
+            vdbs.remove(vdbName);
+        } else {
+            vdbs.put(vdb.getName(), new TCTeiidVdb(vdb, teiidInstance));
+        }
+        this.teiidVdbs = vdbs;
+
+        return vdb;
+    }
+
+    private Callable<TeiidDataSource> createDataSourceTask(final TeiidDataSource ds) {
+        return new Callable<TeiidDataSource>() {
+            @Override
+            public TeiidDataSource call() throws Exception {
+                // Get Properties for the source
+                Properties dsProps = admin.getDataSource(ds.getName());
+                // Transfer properties to the ITeiidDataSource
+                ds.getProperties().clear();
+                ds.getProperties().putAll(dsProps);
+                return ds;
+            }
+        };
+    }
+
+    private static <T> T getResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception)e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static <T> List<T> getResults(List<Future<T>> futures) throws Exception {
+        List<T> results = new ArrayList<T>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(getResult(future));
+        }
+        return results;
+    }
+
     protected void refreshDataSourceNames() throws Exception {
         // populate data source names list
         this.dataSourceNames = new ArrayList(this.admin.getDataSourceNames());
@@ -625,36 +805,73 @@ public class TCExecutionAdmin implements ExecutionAdmin {
      * @throws Exception
      */
     protected void refreshTranslators( Collection<? extends Translator> translators ) throws Exception {
-        for (Translator translator : translators) {
+        List<Future<TeiidTranslator>> results = REFRESH_EXECUTOR.invokeAll(createTranslatorTasks(translators));
+
+        for (TeiidTranslator translator : getResults(results)) {
+            this.translatorByNameMap.put(translator.getName(), translator);
+        }
+    }
+
+    private Collection<Callable<TeiidTranslator>> createTranslatorTasks( Collection<? extends Translator> translators ) {
+        Collection<Callable<TeiidTranslator>> tasks = new ArrayList<Callable<TeiidTranslator>>();
+
+        for (final Translator translator : translators) {
             if (translator.getName() != null) {
-                if( teiidInstance.getVersion().isLessThan(Version.TEIID_8_6.get())) {
-                	Collection<? extends PropertyDefinition> propDefs = this.admin.getTemplatePropertyDefinitions(translator.getName());
-                	this.translatorByNameMap.put(translator.getName(), new TCTeiidTranslator(translator, propDefs, teiidInstance));
-                } else if( teiidInstance.getVersion().isLessThan(Version.TEIID_8_7.get())) {
-                    @SuppressWarnings( "deprecation" )
-                    Collection<? extends PropertyDefinition> propDefs = this.admin.getTranslatorPropertyDefinitions(translator.getName());
-                	this.translatorByNameMap.put(translator.getName(), new TCTeiidTranslator(translator, propDefs, teiidInstance));
-                } else { // TEIID teiid instance VERSION 8.7 AND HIGHER
-                	Collection<? extends PropertyDefinition> propDefs  = 
-                			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.OVERRIDE);
-                	Collection<? extends PropertyDefinition> importPropDefs  = 
-                			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.IMPORT);
-                	Collection<? extends PropertyDefinition> extPropDefs  = 
-                			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.EXTENSION_METADATA);
-                	this.translatorByNameMap.put(translator.getName(), new TCTeiidTranslator(translator, propDefs, importPropDefs, extPropDefs, teiidInstance));
-                }
+                tasks.add(new Callable<TeiidTranslator>() {
+                    @Override
+                    public TeiidTranslator call() throws Exception {
+                        return createTranslator(translator);
+                    }
+                });
             }
         }
+
+        return tasks;
+    }
+
+    private TeiidTranslator createTranslator( Translator translator ) throws Exception {
+        TeiidVersion version = teiidInstance.getVersion();
+        String key = version + "/" + translator.getType() + "/" + translator.getName(); //$NON-NLS-1$ //$NON-NLS-2$
+        TranslatorPropertyDefinitions defns = TRANSLATOR_PROPERTY_DEFINITIONS.get(key);
+
+        if (defns == null) {
+            if( version.isLessThan(Version.TEIID_8_6.get())) {
+            	Collection<? extends PropertyDefinition> propDefs = this.admin.getTemplatePropertyDefinitions(translator.getName());
+            	defns = new TranslatorPropertyDefinitions(propDefs, null, null);
+            } else if( version.isLessThan(Version.TEIID_8_7.get())) {
+                @SuppressWarnings( "deprecation" )
+                Collection<? extends PropertyDefinition> propDefs = this.admin.getTranslatorPropertyDefinitions(translator.getName());
+            	defns = new TranslatorPropertyDefinitions(propDefs, null, null);
+            } else { // TEIID teiid instance VERSION 8.7 AND HIGHER
+            	Collection<? extends PropertyDefinition> propDefs  = 
+            			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.OVERRIDE);
+            	Collection<? extends PropertyDefinition> importPropDefs  = 
+            			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.IMPORT);
+            	Collection<? extends PropertyDefinition> extPropDefs  = 
+            			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.EXTENSION_METADATA);
+            	defns = new TranslatorPropertyDefinitions(propDefs, importPropDefs, extPropDefs);
+            }
+            TRANSLATOR_PROPERTY_DEFINITIONS.putIfAbsent(key, defns);
+        }
+
+        if (defns.importPropDefs == null) {
+            return new TCTeiidTranslator(translator, defns.propDefs, teiidInstance);
+        }
+        return new TCTeiidTranslator(translator, defns.propDefs, defns.importPropDefs, defns.extPropDefs, teiidInstance);
     }
 
     protected void refreshVDBs() throws Exception {
-        Collection<? extends VDB> vdbs = Collections.unmodifiableCollection(this.admin.getVDBs());
-        
-        teiidVdbs = new HashMap<String, TeiidVdb>();
+        setVdbs(this.admin.getVDBs());
+    }
+
+    private synchronized void setVdbs( Collection<? extends VDB> vdbs ) {
+        Map<String, TeiidVdb> result = new HashMap<String, TeiidVdb>();
 
         for (VDB vdb : vdbs) {
-            teiidVdbs.put(vdb.getName(), new TCTeiidVdb(vdb, teiidInstance));
+            result.put(vdb.getName(), new TCTeiidVdb(vdb, teiidInstance));
         }
+
+        this.teiidVdbs = result;
     }
     
     protected void refreshDataSourceTypes() throws Exception {
@@ -714,10 +931,10 @@ public class TCExecutionAdmin implements ExecutionAdmin {
         }
         vdb = getVdb(vdbName);
 
-        refreshVDBs();
-
-        if (vdb != null)
+        if (vdb != null) {
+            refreshVdb(vdbName, vdb.getVersion());
             this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createUnDeployVDBEvent(vdb.getName()));
+        }
     }
     
     @Override
@@ -728,10 +945,10 @@ public class TCExecutionAdmin implements ExecutionAdmin {
         }
         vdb = getVdb(vdbName);
 
-        refreshVDBs();
-
-        if (vdb != null)
+        if (vdb != null) {
+            refreshVdb(vdbName, vdb.getVersion());
             this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createUnDeployVDBEvent(vdb.getName()));
+        }
     }
 
     /**
@@ -744,7 +961,7 @@ public class TCExecutionAdmin implements ExecutionAdmin {
         adminSpec.undeploy(admin, appendVdbExtension(vdbName), vdbVersion);
         TeiidVdb vdb = getVdb(vdbName);
 
-        refreshVDBs();
+        loadVdb(vdbName, vdbVersion);
 
         if (vdb != null)
             this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createUnDeployVDBEvent(vdb.getName()));
@@ -897,7 +1114,7 @@ public class TCExecutionAdmin implements ExecutionAdmin {
                 }
 
                 // Refreshes from adminApi
-                refreshVDBs();
+                loadVdb(vdbName, vdbVersion);
 
                 // Get the teiid vdb
                 TeiidVdb vdb = getVdb(vdbName);
@@ -911,7 +1128,7 @@ public class TCExecutionAdmin implements ExecutionAdmin {
                 }
             } while (System.currentTimeMillis() < waitUntil);
 
-            refreshVDBs();
+            loadVdb(vdbName, vdbVersion);
             return;
         }
 
@@ -938,7 +1155,7 @@ public class TCExecutionAdmin implements ExecutionAdmin {
 
             try {
                 // Refresh again to update vdb states
-                refreshVDBs();
+                loadVdb(vdbName, vdbVersion);
 
                 // Determine if still loading, if so wait for loading to be completed
                 if(isVdbLoading()) {
@@ -27,9 +27,13 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
@@ -136,6 +140,34 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
         assertEquals(expected, os.toString());
     }
 
+    @Test
+    public void fromWithLimitAndOffset() throws Exception {
+        String expected = "SELECT [jcr:path], [mode:localName] FROM [tko:workspace] LIMIT 50 OFFSET 100";
+        Repository repository = mockRepository();
+        ObjectSearcher os = new ObjectSearcher(repository);
+        os.addFromType(KomodoLexicon.Komodo.WORKSPACE);
+        os.setLimit(50).setOffset(100);
+        assertEquals(expected, os.toString());
+    }
+
+    @Test
+    public void searchUsesBindVariables() throws Exception {
+        Repository repository = mockRepository();
+        ObjectSearcher os = new ObjectSearcher(repository);
+        os.addFromType(JcrConstants.NT_UNSTRUCTURED, "k1");
+        os.addWherePathClause(null, "k1", "/tko:komodo/tko:workspace");
+        os.setLimit(10);
+        os.searchObjects(null);
+
+        Map<String, String> bindings = new HashMap<String, String>();
+        bindings.put("value0", "/tko:komodo/tko:workspace");
+        verify(repository).query(null,
+                                 "SELECT [jcr:path], [mode:localName] FROM [nt:unstructured] AS k1 WHERE PATH(k1) = $value0",
+                                 bindings,
+                                 0,
+                                 10);
+    }
+
     @Test
     public void addWhereClauseWithNullType() {
         try {
@@ -302,6 +334,83 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
         assertEquals(testNodes.length, searchObjects.size());
     }
 
+    @Test
+    public void executePagedQuery() throws Exception {
+        assertNotNull(_repo);
+
+        // Create the komodo workspace
+        KomodoObject workspace = _repo.komodoWorkspace(null);
+        assertNotNull(workspace);
+
+        for (int i = 1; i <= 5; ++i) {
+            workspace.addChild(null, "test" + i, KomodoLexicon.VdbModel.NODE_TYPE);
+        }
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.addFromType(KomodoLexicon.VdbModel.NODE_TYPE);
+        os.setLimit(2).setOffset(1);
+        List<KomodoObject> searchObjects = os.searchObjects(null);
+        assertEquals(2, searchObjects.size());
+
+        String statement = "SELECT [jcr:path] FROM [" + KomodoLexicon.VdbModel.NODE_TYPE + "]";
+        assertEquals(3, _repo.query(null, statement, 2, -1).size());
+
+        UnitOfWork transaction = _repo.createTransaction("executePagedQuery", true, null);
+        Iterator<KomodoObject> itr = _repo.queryIterator(transaction, statement);
+        int count = 0;
+
+        while (itr.hasNext()) {
+            assertNotNull(itr.next());
+            ++count;
+        }
+
+        transaction.commit();
+        assertEquals(5, count);
+    }
+
+    @Test
+    public void iterateWithLimitAndOffset() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(null);
+        assertNotNull(workspace);
+
+        for (int i = 1; i <= 5; ++i) {
+            workspace.addChild(null, "test" + i, KomodoLexicon.VdbModel.NODE_TYPE);
+        }
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.addFromType(KomodoLexicon.VdbModel.NODE_TYPE);
+        os.setLimit(2).setOffset(1);
+
+        UnitOfWork transaction = _repo.createTransaction("iterateWithLimitAndOffset", true, null);
+        Iterator<KomodoObject> itr = os.iterateObjects(transaction);
+        int count = 0;
+
+        while (itr.hasNext()) {
+            assertNotNull(itr.next());
+            ++count;
+        }
+
+        transaction.commit();
+        assertEquals(2, count);
+    }
+
+    @Test
+    public void executeQueryWithLimitInStatement() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(null);
+        assertNotNull(workspace);
+
+        for (int i = 1; i <= 5; ++i) {
+            workspace.addChild(null, "test" + i, KomodoLexicon.VdbModel.NODE_TYPE);
+        }
+
+        String statement = "SELECT [jcr:path] FROM [" + KomodoLexicon.VdbModel.NODE_TYPE + "] LIMIT 1";
+        assertEquals(1, _repo.query(null, statement).size());
+
+        // paging the same statement must not change the statement's own limit when it is next run unpaged
+        _repo.query(null, statement, 0, 3);
+        assertEquals(1, _repo.query(null, statement).size());
+    }
+
     @Test
     public void executeFromQueryWithWhere() throws Exception {
         assertNotNull(_repo);
@@ -400,10 +509,13 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
         assertEquals(sourceTotal * 2, searchObjects.size());
 
         //
-        // Test to confirm that the above does produce the same answer as getChildrenOfType
+        // Test to confirm that getChildrenOfType only returns immediate children whereas the parent clause is a deep search
         //
         KomodoObject[] children = workspace.getChildrenOfType(null, KomodoLexicon.VdbModelSource.NODE_TYPE);
-        assertEquals(searchObjects.size(), children.length);
+        assertEquals(0, children.length);
+
+        children = testModel1.getChildrenOfType(null, KomodoLexicon.VdbModelSource.NODE_TYPE);
+        assertEquals(sourceTotal, children.length);
     }
 
     @Test
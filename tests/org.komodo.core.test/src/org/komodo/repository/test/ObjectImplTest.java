@@ -11,11 +11,15 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
+import org.komodo.repository.ObjectImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.test.utils.AbstractLocalRepositoryTest;
 
 @SuppressWarnings( {"javadoc", "nls"} )
@@ -105,6 +109,48 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( this.kobject.getChild( null, name ), is( notNullValue() ) );
     }
 
+    @Test
+    public void shouldGetChildrenOfTypeIncludingMixins() throws Exception {
+        final String mixin = "mix:referenceable";
+        final UnitOfWork uow = _repo.createTransaction( "shouldGetChildrenOfTypeIncludingMixins", false, null );
+        this.kobject.addChild( uow, "folder", "nt:folder" );
+        final KomodoObject kid = this.kobject.addChild( uow, "kid", null );
+        kid.addDescriptor( uow, mixin );
+        kid.addChild( uow, "grandKid", "nt:folder" );
+
+        // transient children should be found
+        assertThat( this.kobject.getChildrenOfType( uow, "nt:folder" ).length, is( 1 ) );
+        assertThat( this.kobject.getChildrenOfType( uow, mixin ).length, is( 1 ) );
+        assertThat( this.kobject.getChildrenOfType( uow, mixin )[0].getName( uow ), is( "kid" ) );
+        assertThat( this.kobject.getChildrenOfType( uow, "nt:base" ).length, is( 2 ) ); // supertype
+        uow.commit();
+    }
+
+    @Test
+    public void shouldGetPropertyValues() throws Exception {
+        final UnitOfWork uow = _repo.createTransaction( "shouldGetPropertyValues", false, null );
+        this.kobject.setProperty( uow, "single", "larry" );
+        this.kobject.setProperty( uow, "multi", "curly", "moe" );
+        this.kobject.setProperty( uow, "number", 5L );
+
+        final Map< String, Object > values = this.kobject.getPropertyValues( uow, "number", "missing", "multi", "single" );
+        assertThat( values.size(), is( 3 ) );
+        assertThat( values.keySet().toArray( new String[ 3 ] ), is( new String[] { "number", "multi", "single" } ) );
+        assertThat( ( Long )values.get( "number" ), is( 5L ) );
+        assertThat( ( Object[] )values.get( "multi" ), is( new Object[] { "curly", "moe" } ) );
+        assertThat( ( String )values.get( "single" ), is( "larry" ) );
+
+        final Map< String, Object > all = this.kobject.getPropertyValues( uow );
+        assertThat( all.keySet().containsAll( values.keySet() ), is( true ) );
+        assertThat( all.containsKey( "jcr:primaryType" ), is( true ) );
+        uow.commit();
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetPropertyValuesWithEmptyName() throws Exception {
+        this.kobject.getPropertyValues( null, "single", "" );
+    }
+
     @Test
     public void shouldGetIndex() throws Exception {
         assertThat( this.kobject.getIndex(), is( 0 ) );
@@ -115,6 +161,18 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( this.kobject.getTypeIdentifier( null ), is( KomodoType.UNKNOWN ) );
     }
 
+    @Test
+    public void shouldChangeTypeKeyWhenDescriptorAdded() throws Exception {
+        final ObjectImpl obj = ( ObjectImpl )this.kobject;
+        final String typeKey = obj.getTypeKey( null );
+        assertThat( obj.getTypeKey( null ), is( typeKey ) );
+
+        obj.addDescriptor( null, "mix:referenceable" );
+        assertThat( obj.getTypeKey( null ).equals( typeKey ), is( false ) );
+        assertThat( obj.getTypeNames( null ), is( new String[] { obj.getPrimaryType( null ).getName(), "mix:referenceable" } ) );
+        assertThat( obj.getTypeIdentifier( null ), is( KomodoType.UNKNOWN ) );
+    }
+
     @Test
     public void shouldRemove() throws Exception {
         final KomodoObject obj = _repo.getFromWorkspace( null, NAME );
@@ -123,6 +181,41 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( _repo.komodoWorkspace( null ).getChildren( null ).length, is( 0 ) );
     }
 
+    @Test
+    public void shouldNotResolveRemovedChildInSameTransaction() throws Exception {
+        final String name = "kid";
+        final UnitOfWork uow = _repo.createTransaction( "shouldNotResolveRemovedChildInSameTransaction", false, null );
+        final KomodoObject child = this.kobject.addChild( uow, name, null );
+        assertThat( child.getName( uow ), is( name ) ); // resolves and caches node
+
+        this.kobject.removeChild( uow, name );
+        assertThat( this.kobject.hasChild( uow, name ), is( false ) );
+
+        try {
+            child.getName( uow );
+            fail( "Removed child should not be resolved from the node cache" );
+        } catch ( final KException e ) {
+            // expected
+        } finally {
+            uow.rollback();
+        }
+    }
+
+    @Test
+    public void shouldResolveRenamedObjectInSameTransaction() throws Exception {
+        final String newName = "renamed";
+        final UnitOfWork uow = _repo.createTransaction( "shouldResolveRenamedObjectInSameTransaction", false, null );
+        final KomodoObject child = this.kobject.addChild( uow, "kid", null );
+        final KomodoObject grandChild = child.addChild( uow, "grandKid", null );
+        assertThat( grandChild.getName( uow ), is( "grandKid" ) ); // resolves and caches node
+
+        child.rename( uow, newName );
+        assertThat( child.getName( uow ), is( newName ) );
+        assertThat( this.kobject.getChild( uow, newName ).getChild( uow, "grandKid" ), is( notNullValue() ) );
+        assertThat( this.kobject.hasChild( uow, "kid" ), is( false ) );
+        uow.commit();
+    }
+
     @Test
     public void shouldRemoveDescriptor() throws Exception {
         final String descriptorName = "mix:referenceable";
@@ -31,7 +31,12 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import java.io.File;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.jcr.Node;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,6 +44,7 @@ import org.komodo.core.KomodoLexicon;
 import org.komodo.repository.ObjectImpl;
 import org.komodo.repository.RepositoryImpl;
 import org.komodo.repository.RepositoryTools;
+import org.komodo.repository.internal.ReadOnlySessionPool;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.Descriptor;
@@ -108,6 +114,71 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         transaction.commit();
     }
 
+    @Test( timeout = 60000 )
+    public void shouldCreateRollbackTransactionsConcurrently() throws Exception {
+        final int numThreads = 10;
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final List< Future< UnitOfWork.State > > futures = new ArrayList< Future< UnitOfWork.State > >();
+
+        try {
+            for (int i = 0; i < numThreads; ++i) {
+                final String name = "reader-" + i;
+
+                futures.add(executor.submit(new Callable< UnitOfWork.State >() {
+
+                    @Override
+                    public UnitOfWork.State call() throws Exception {
+                        final UnitOfWork transaction = _repo.createTransaction(name, true, null);
+                        assertThat(session(transaction).isLive(), is(true));
+                        transaction.rollback();
+                        return transaction.getState();
+                    }
+                }));
+            }
+
+            for (final Future< UnitOfWork.State > future : futures) {
+                assertThat(future.get(), is(UnitOfWork.State.ROLLED_BACK));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldReuseReadOnlySessions() throws Exception {
+        final int before = _repo.getReadOnlySessionCount();
+
+        for (int i = 0; i < 5; ++i) {
+            final UnitOfWork transaction = _repo.createTransaction("shouldReuseReadOnlySessions-" + i, true, null);
+            assertThat(_repo.komodoWorkspace(null).getName(transaction), is(KomodoLexicon.Komodo.WORKSPACE));
+            transaction.commit(); // rollback-only so session goes back to the pool
+            assertThat(transaction.getState(), is(UnitOfWork.State.ROLLED_BACK));
+            assertThat(session(transaction), is(nullValue()));
+        }
+
+        assertTrue(_repo.getReadOnlySessionCount() <= Math.max(before, 1));
+        assertTrue(_repo.getIdleReadOnlySessionCount() >= 1);
+    }
+
+    @Test
+    public void shouldNotLimitOpenReadOnlyTransactions() throws Exception {
+        final int count = ReadOnlySessionPool.DEFAULT_MAX_IDLE + 4;
+        final List< UnitOfWork > transactions = new ArrayList< UnitOfWork >(count);
+
+        // none of these are committed until all have been created
+        for (int i = 0; i < count; ++i) {
+            final UnitOfWork transaction = _repo.createTransaction("shouldNotLimitOpenReadOnlyTransactions-" + i, true, null);
+            assertThat(_repo.komodoWorkspace(null).getName(transaction), is(KomodoLexicon.Komodo.WORKSPACE));
+            transactions.add(transaction);
+        }
+
+        for (final UnitOfWork transaction : transactions) {
+            transaction.commit();
+        }
+
+        assertTrue(_repo.getIdleReadOnlySessionCount() <= ReadOnlySessionPool.DEFAULT_MAX_IDLE);
+    }
+
     @Test
     public void shouldCreateUpdateTransaction() throws Exception {
         // setup
@@ -123,6 +194,25 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         transaction.commit();
     }
 
+    @Test( timeout = 60000 )
+    public void shouldCompleteSequencingFutureWhenNothingIsSequenced() throws Exception {
+        final UnitOfWork transaction = _repo.createTransaction("shouldCompleteSequencingFutureWhenNothingIsSequenced", false, null);
+        _repo.add(transaction, null, "blah", null);
+        transaction.commit();
+
+        transaction.getSequencingFuture().get();
+        assertThat(transaction.getSequencingFuture().isDone(), is(true));
+    }
+
+    @Test
+    public void shouldCompleteSequencingFutureOnRollback() throws Exception {
+        final UnitOfWork transaction = _repo.createTransaction("shouldCompleteSequencingFutureOnRollback", false, null);
+        _repo.add(transaction, null, "blah", null);
+        transaction.rollback();
+
+        assertThat(transaction.getSequencingFuture().isDone(), is(true));
+    }
+
     @Test( expected = KException.class )
     public void shouldFailToAddWorkspaceItemToNonexistingParent() throws Exception {
         _repo.add(null, "does-not-exist", "shouldFailToAddWorkspaceItemToNonexistingParent", null);
@@ -316,6 +406,21 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         }
     }
 
+    @Test
+    public void shouldSearchForPrimaryTypeOnePageAtATime() throws Exception {
+        KomodoObject komodoWksp = _repo.komodoWorkspace(null);
+        assertNotNull(komodoWksp);
+
+        for (int i = 1; i < 11; ++i) {
+            komodoWksp.addChild(null, "test" + i, KomodoLexicon.VdbModel.NODE_TYPE);
+        }
+
+        assertEquals(4, _repo.searchByType(null, 0, 4, KomodoLexicon.VdbModel.NODE_TYPE).size());
+        assertEquals(4, _repo.searchByType(null, 4, 4, KomodoLexicon.VdbModel.NODE_TYPE).size());
+        assertEquals(2, _repo.searchByType(null, 8, 4, KomodoLexicon.VdbModel.NODE_TYPE).size());
+        assertEquals(10, _repo.searchByType(null, 0, -1, KomodoLexicon.VdbModel.NODE_TYPE).size());
+    }
+
     @Test
     public void shouldSearchForKeyword() throws Exception {
         KomodoObject komodoWksp = _repo.komodoWorkspace(null);
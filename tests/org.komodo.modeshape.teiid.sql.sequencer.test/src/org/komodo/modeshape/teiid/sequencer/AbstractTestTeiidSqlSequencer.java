@@ -21,15 +21,26 @@
  */
 package org.komodo.modeshape.teiid.sequencer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import javax.jcr.Binary;
 import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.Property;
+import javax.jcr.nodetype.NodeType;
 import org.junit.Test;
 import org.komodo.modeshape.AbstractTSqlSequencerTest;
+import org.komodo.modeshape.teiid.CompactSqlTree;
+import org.komodo.modeshape.teiid.TeiidSqlSequencer;
+import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon.AbstractCompareCriteria;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon.AbstractSetCriteria;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon.AggregateSymbol;
@@ -80,6 +91,8 @@ import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon.WindowSpecification;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon.XMLAttributes;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon.XMLElement;
 import org.komodo.modeshape.teiid.language.SortSpecification.NullOrdering;
+import org.komodo.modeshape.teiid.parser.SQQueryParser;
+import org.komodo.modeshape.teiid.sql.lang.CommandImpl;
 import org.komodo.modeshape.teiid.sql.lang.CriteriaOperator;
 import org.komodo.spi.query.sql.lang.JoinType;
 import org.komodo.spi.query.sql.lang.SetQuery.Operation;
@@ -1787,4 +1800,126 @@ public abstract class AbstractTestTeiidSqlSequencer extends AbstractTSqlSequence
         verifySql("SELECT ROW_NUMBER() OVER (PARTITION BY x ORDER BY y) FROM g", fileNode);
     }
 
+    @Test
+    public void testResequencingUpdatesNodesInPlace() throws Exception {
+        Node fileNode = sequenceSql("SELECT a FROM g1 WHERE a = 1", TSQL_QUERY);
+        Node queryNode = verify(fileNode, Query.ID, Query.ID);
+        String queryId = queryNode.getIdentifier();
+
+        CountDownLatch updateLatch = addPathLatchListener(1, TSQL_QUERY);
+        Node contentNode = fileNode.getNode(JcrConstants.JCR_CONTENT);
+        Binary sql = session().getValueFactory().createBinary(new ByteArrayInputStream("SELECT a FROM g1 WHERE a = 2".getBytes()));
+        contentNode.setProperty(JcrConstants.JCR_DATA, sql);
+        session().save();
+        assertTrue(updateLatch.await(3, TimeUnit.MINUTES));
+
+        // the previously sequenced query is updated rather than a second query being added
+        assertEquals(1, fileNode.getNodes(Query.ID).getSize());
+        queryNode = verify(fileNode, Query.ID, Query.ID);
+        assertEquals(queryId, queryNode.getIdentifier());
+
+        verifySql("SELECT a FROM g1 WHERE a = 2", fileNode);
+    }
+
+    private void sequencedNodes(Node parent, String parentPath, List<String> nodes) throws Exception {
+        NodeIterator iter = parent.getNodes();
+        while (iter.hasNext()) {
+            Node child = iter.nextNode();
+            if (! child.hasProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME))
+                continue;
+
+            String path = parentPath + FORWARD_SLASH + child.getName() + OPEN_SQUARE_BRACKET + child.getIndex() + CLOSE_SQUARE_BRACKET;
+            for (NodeType mixin : child.getMixinNodeTypes()) {
+                if (mixin.getName().startsWith(TeiidSqlLexicon.Namespace.PREFIX + COLON))
+                    nodes.add(path + SPACE + mixin.getName());
+            }
+
+            sequencedNodes(child, path, nodes);
+        }
+    }
+
+    @Test
+    public void testResequencingWithInsertedChildrenKeepsOrder() throws Exception {
+        Node fileNode = sequenceSql("SELECT a, c FROM g1", TSQL_QUERY);
+
+        String sql = "SELECT a, b, 1, c FROM g1 WHERE a = 1";
+        CountDownLatch updateLatch = addPathLatchListener(1, TSQL_QUERY);
+        Node contentNode = fileNode.getNode(JcrConstants.JCR_CONTENT);
+        Binary binary = session().getValueFactory().createBinary(new ByteArrayInputStream(sql.getBytes()));
+        contentNode.setProperty(JcrConstants.JCR_DATA, binary);
+        session().save();
+        assertTrue(updateLatch.await(3, TimeUnit.MINUTES));
+
+        verifySql(sql, fileNode);
+
+        // the nodes are in the same order as when the sql is sequenced from scratch
+        Node expectedNode = sequenceSql(sql, TSQL_QUERY);
+        List<String> expected = new ArrayList<String>();
+        sequencedNodes(expectedNode, EMPTY_STRING, expected);
+        List<String> actual = new ArrayList<String>();
+        sequencedNodes(fileNode, EMPTY_STRING, actual);
+        assertEquals(expected, actual);
+    }
+
+    private static class ParserSequencer extends TeiidSqlSequencer {
+
+        @Override
+        public SQQueryParser getParser() {
+            return super.getParser();
+        }
+    }
+
+    @Test
+    public void testSequencersReuseParserOfThread() throws Exception {
+        SQQueryParser parser = new ParserSequencer().getParser();
+        assertSame(parser, new ParserSequencer().getParser());
+
+        // parsing with the shared parser does not affect earlier commands
+        String sql = "SELECT a FROM g1 WHERE a = 1";
+        CommandImpl command = parser.parseCommand(sql);
+        parser.parseCommand("SELECT b, c FROM g2");
+        assertEquals(sql, command.toString());
+
+        // nodes sequenced one after another are independent of each other
+        Node first = sequenceSql(sql, TSQL_QUERY);
+        Node second = sequenceSql("SELECT b, c FROM g2", TSQL_QUERY);
+        verifySql(sql, first);
+        verifySql("SELECT b, c FROM g2", second);
+    }
+
+    @Test
+    public void testCompactTreeMaterialization() throws Exception {
+        String sql = "SELECT a FROM g1 WHERE a = 1";
+        CommandImpl command = new SQQueryParser(getTeiidVersion()).parseDesignerCommand(sql);
+        byte[] tree = CompactSqlTree.write(command, getTeiidVersion());
+
+        Node node = session().getRootNode().addNode("compactTree");
+        node.setProperty(CompactSqlTree.PROPERTY_NAME, session().getValueFactory().createBinary(new ByteArrayInputStream(tree)));
+
+        assertTrue(CompactSqlTree.materialize(node));
+        assertFalse(CompactSqlTree.isCompact(node));
+
+        Node queryNode = verify(node, Query.ID, Query.ID);
+        verify(queryNode, Query.SELECT_REF_NAME, Select.ID);
+        verifySql("SELECT a FROM g1 WHERE a = 1", node);
+    }
+
+    @Test
+    public void testVisitingCompactTreeDoesNotModifySession() throws Exception {
+        String sql = "SELECT a FROM g1 WHERE a = 1";
+        CommandImpl command = new SQQueryParser(getTeiidVersion()).parseDesignerCommand(sql);
+        byte[] tree = CompactSqlTree.write(command, getTeiidVersion());
+
+        Node node = session().getRootNode().addNode("compactTreeExport");
+        node.setProperty(CompactSqlTree.PROPERTY_NAME, session().getValueFactory().createBinary(new ByteArrayInputStream(tree)));
+        session().save();
+
+        verifySql(sql, node);
+
+        // the compact tree is left as is
+        assertTrue(CompactSqlTree.isCompact(node));
+        assertFalse(node.hasNodes());
+        assertFalse(session().hasPendingChanges());
+    }
+
 }
@@ -22,6 +22,8 @@
 package org.komodo.modeshape.teiid.sql;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import java.io.UnsupportedEncodingException;
@@ -37,6 +39,8 @@ import org.komodo.modeshape.teiid.TeiidClientException;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
 import org.komodo.modeshape.teiid.language.SortSpecification;
 import org.komodo.modeshape.teiid.parser.ParseInfo;
+import org.komodo.modeshape.teiid.parser.ParsedCommandCache;
+import org.komodo.modeshape.teiid.parser.SQQueryParser;
 import org.komodo.modeshape.teiid.parser.TeiidNodeFactory.ASTNodes;
 import org.komodo.modeshape.teiid.sql.lang.ArrayTableImpl;
 import org.komodo.modeshape.teiid.sql.lang.BetweenCriteriaImpl;
@@ -4750,4 +4754,30 @@ public abstract class AbstractTestQueryParser extends AbstractTest<CommandImpl>
         String expectedMsg = buildErrorMessage("from", 1, 18, "Argument requires the value should have a length of 1 character only");
         helpException("select trim('xy' from e1) from pm1.g1", expectedMsg);
     }
+
+    @Test
+    public void testDesignerCommandCache() throws Exception {
+        ParsedCommandCache cache = SQQueryParser.getCommandCache();
+        String sql = "SELECT e1, e2 FROM pm1.g1 WHERE e3 = 'testDesignerCommandCache'";
+
+        long misses = cache.getMissCount();
+        CommandImpl command = parser.parseDesignerCommand(sql);
+        assertEquals(misses + 1, cache.getMissCount());
+
+        long hits = cache.getHitCount();
+        CommandImpl cached = parser.parseDesignerCommand("  " + sql + NEW_LINE);
+        assertEquals(hits + 1, cache.getHitCount());
+
+        assertEquals(command, cached);
+        assertNotSame(command, cached);
+
+        // cached commands are bound to the parser of the caller
+        assertSame(parser.getTeiidParser(), cached.getTeiidParser());
+
+        SQQueryParser otherParser = new SQQueryParser(teiidVersion);
+        CommandImpl other = otherParser.parseDesignerCommand(sql);
+        assertEquals(command, other);
+        assertSame(otherParser.getTeiidParser(), other.getTeiidParser());
+        assertNotSame(parser.getTeiidParser(), other.getTeiidParser());
+    }
 }
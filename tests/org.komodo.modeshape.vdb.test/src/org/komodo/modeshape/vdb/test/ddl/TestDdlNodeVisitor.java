@@ -25,6 +25,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -48,6 +49,11 @@ public class TestDdlNodeVisitor extends AbstractSequencerTest {
      */
     private static final String SEQUENCE_DDL_PATH = "\\/ddl[0-9]+\\.ddl\\/";
 
+    /**
+     * Set to <code>true</code> to run the export benchmarks
+     */
+    private static final String BENCHMARK_PROPERTY = "komodo.benchmark";
+
     /*
      * Since the options arguments can occur in any order when the visitor
      * visits them, we need to break the line down and compare the arguments
@@ -155,6 +161,69 @@ public class TestDdlNodeVisitor extends AbstractSequencerTest {
         helpTest(ddl, ddl, SEQUENCE_DDL_PATH + "G1");
     }
 
+    @Test(timeout = 5000000)
+    public void testConstraintsResolvedThroughUuidIndex() throws Exception {
+        // several constraints resolve columns and tables through the same indexes
+        String ddl = "CREATE FOREIGN TABLE G1 (" + NEW_LINE +
+                TAB + "g1e1 integer," + NEW_LINE +
+                TAB + "g1e2 varchar," + NEW_LINE +
+                TAB + "PRIMARY KEY(g1e1, g1e2)" + NEW_LINE +
+                ");" + NEW_LINE +
+                NEW_LINE +
+                "CREATE FOREIGN TABLE G2 (" + NEW_LINE +
+                TAB + "g2e1 integer," + NEW_LINE +
+                TAB + "g2e2 varchar," + NEW_LINE +
+                TAB + "PRIMARY KEY(g2e1, g2e2)," + NEW_LINE +
+                TAB + "FOREIGN KEY(g2e1, g2e2) REFERENCES G1 (g1e1, g1e2)" + NEW_LINE +
+                ");" + NEW_LINE +
+                NEW_LINE +
+                "CREATE FOREIGN TABLE G3 (" + NEW_LINE +
+                TAB + "g3e1 integer," + NEW_LINE +
+                TAB + "g3e2 varchar," + NEW_LINE +
+                TAB + "PRIMARY KEY(g3e1, g3e2)," + NEW_LINE +
+                TAB + "FOREIGN KEY(g3e1, g3e2) REFERENCES G1 (g1e1, g1e2)," + NEW_LINE +
+                TAB + "FOREIGN KEY(g3e1, g3e2) REFERENCES G2 (g2e1, g2e2)" + NEW_LINE +
+                ");";
+
+        helpTest(ddl, ddl, SEQUENCE_DDL_PATH + "G1", SEQUENCE_DDL_PATH + "G2", SEQUENCE_DDL_PATH + "G3");
+    }
+
+    /*
+     * Exports thousands of primary and foreign keys. Only run when the
+     * benchmark system property is set, e.g. -Dkomodo.benchmark=true
+     */
+    @Test(timeout = 5000000)
+    public void testManyConstraintsBenchmark() throws Exception {
+        assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+
+        int tableCount = 1000;
+        StringBuilder ddl = new StringBuilder();
+
+        for (int i = 0; i < tableCount; ++i) {
+            if (i > 0)
+                ddl.append(NEW_LINE).append(NEW_LINE);
+
+            ddl.append("CREATE FOREIGN TABLE T" + i + " (").append(NEW_LINE)
+               .append(TAB + "c1 integer,").append(NEW_LINE)
+               .append(TAB + "c2 varchar,").append(NEW_LINE)
+               .append(TAB + "PRIMARY KEY(c1, c2)");
+
+            if (i > 0)
+                ddl.append(COMMA).append(NEW_LINE).append(TAB + "FOREIGN KEY(c1, c2) REFERENCES T" + (i - 1) + " (c1, c2)");
+
+            ddl.append(NEW_LINE).append(");");
+        }
+
+        CountDownLatch updateLatch = addPathLatchListener(1, SEQUENCE_DDL_PATH + "T0");
+        Node fileNode = prepareSequence(ddl.toString(), SequenceType.DDL);
+        assertTrue(updateLatch.await(3, TimeUnit.MINUTES));
+
+        DdlNodeVisitor visitor = new DdlNodeVisitor(getTeiidVersion(), false);
+        visitor.visit(fileNode);
+
+        compare(ddl.toString(), visitor);
+    }
+
     @Test(timeout = 5000000)
     public void testMultiKeyPK() throws Exception {
         String ddl = "CREATE FOREIGN TABLE G1 (" + NEW_LINE +
@@ -13,6 +13,8 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import java.io.StringWriter;
+import java.util.Properties;
 import org.junit.Before;
 import org.junit.Test;
 import org.komodo.relational.RelationalModelTest;
@@ -135,6 +137,14 @@ public final class ModelImplTest extends RelationalModelTest {
         assertThat( this.model.getModelType( null ), is( Type.DEFAULT_VALUE ) );
     }
 
+    @Test
+    public void shouldExportEmptyDdlToWriter() throws Exception {
+        final StringWriter writer = new StringWriter();
+        this.model.export( null, writer, new Properties() );
+        assertThat( writer.toString(), is( this.model.export( null, new Properties() ) ) );
+        assertThat( writer.toString().isEmpty(), is( true ) );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailAddingEmptyPushdownFunctionName() throws Exception {
         this.model.addPushdownFunction( null, EMPTY_STRING );
@@ -15,8 +15,10 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.StringWriter;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import javax.jcr.Session;
@@ -29,6 +31,7 @@ import org.komodo.relational.model.Schema;
 import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.RepositoryChangeObserver;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 
 @SuppressWarnings( {"javadoc", "nls"} )
@@ -141,6 +144,62 @@ public class SchemaImplTest extends RelationalModelTest {
         assertThat(fragment.isEmpty(), is(true));
     }
 
+    @Test( timeout = 180000 )
+    public void shouldWaitForSequencingUsingSequencingFuture() throws Exception {
+        final UnitOfWork transaction = _repo.createTransaction("schematests-sequencingfuture", false, null);
+        this.schema.setRendition(transaction, DDL_VIEW);
+        transaction.commit();
+
+        // both the DDL sequencer and the Teiid SQL sequencer must be finished for the export to work
+        transaction.getSequencingFuture().get(3, TimeUnit.MINUTES);
+        assertThat(this.schema.export(null, new Properties()), is(DDL_VIEW));
+    }
+
+    @Test( timeout = 180000 )
+    public void shouldFinishSequencingFutureWhenDdlIsInvalid() throws Exception {
+        final UnitOfWork transaction = _repo.createTransaction("schematests-invalidddl", false, null);
+        this.schema.setRendition(transaction, "CREATE VIEW G1 (e1 integer OPTIONS");
+        transaction.commit();
+
+        // the DDL parser may report the DDL as unknown statements or fail, but either way the future must finish
+        try {
+            transaction.getSequencingFuture().get(1, TimeUnit.MINUTES);
+        } catch (final ExecutionException e) {
+            // sequencing failed
+        }
+        assertThat(transaction.getSequencingFuture().isDone(), is(true));
+    }
+
+    @Test( timeout = 180000 )
+    public void shouldNotifyChangeObserversWhenSequencingFinishes() throws Exception {
+        final CountDownLatch notified = new CountDownLatch(2);
+        final RepositoryChangeObserver observer = new RepositoryChangeObserver() {
+
+            @Override
+            public void eventOccurred() {
+                // nothing to do
+            }
+
+            @Override
+            public void changesCommitted() {
+                notified.countDown();
+            }
+        };
+        _repo.addObserver(observer);
+
+        try {
+            final UnitOfWork transaction = _repo.createTransaction("schematests-changeobserver", false, null);
+            this.schema.setRendition(transaction, DDL_VIEW);
+            transaction.commit();
+
+            // once for the commit and once when the sequencer output has been saved
+            transaction.getSequencingFuture().get(3, TimeUnit.MINUTES);
+            assertThat(notified.await(1, TimeUnit.MINUTES), is(true));
+        } finally {
+            _repo.removeObserver(observer);
+        }
+    }
+
     @Test
     public void shouldExportDdl() throws Exception {
         setRenditionValueAwaitSequencing(DDL_VIEW, SEQUENCE_TEIID_SQL_PATH);
@@ -152,4 +211,13 @@ public class SchemaImplTest extends RelationalModelTest {
         assertEquals(DDL_VIEW, fragment);
     }
 
+    @Test
+    public void shouldExportDdlToWriter() throws Exception {
+        setRenditionValueAwaitSequencing(DDL_VIEW, SEQUENCE_TEIID_SQL_PATH);
+
+        final StringWriter writer = new StringWriter();
+        this.schema.export(null, writer, new Properties());
+        assertEquals(DDL_VIEW, writer.toString());
+    }
+
 }
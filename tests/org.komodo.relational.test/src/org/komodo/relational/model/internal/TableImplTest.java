@@ -14,10 +14,15 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import org.komodo.relational.RelationalConstants;
+import org.komodo.relational.RelationalConstants.Nullable;
 import org.komodo.relational.RelationalModelTest;
 import org.komodo.relational.internal.RelationalModelFactory;
+import org.komodo.relational.internal.RelationalModelFactory.ColumnSpec;
 import org.komodo.relational.internal.RelationalObjectImpl;
 import org.komodo.relational.model.AccessPattern;
 import org.komodo.relational.model.Column;
@@ -70,6 +75,25 @@ public final class TableImplTest extends RelationalModelTest {
         assertThat( column.getName( null ), is( name ) );
     }
 
+    @Test
+    public void shouldCreateColumnsInBulk() throws Exception {
+        final List< ColumnSpec > specs = new ArrayList< ColumnSpec >();
+        specs.add( new ColumnSpec( "c1" ).setDatatypeName( "string" ).setLength( 25 ).setNullable( Nullable.NO_NULLS ) );
+        specs.add( new ColumnSpec( "c2" ).setDatatypeName( "integer" ).setDefaultValue( "0" ) );
+        specs.add( new ColumnSpec( "c3" ) );
+
+        final Column[] columns = RelationalModelFactory.createColumns( null, _repo, this.table, specs );
+        assertThat( columns.length, is( 3 ) );
+        assertThat( this.table.getColumns( null ).length, is( 3 ) );
+        assertThat( columns[ 0 ].getName( null ), is( "c1" ) );
+        assertThat( columns[ 0 ].getDatatypeName( null ), is( "string" ) );
+        assertThat( columns[ 0 ].getLength( null ), is( 25L ) );
+        assertThat( columns[ 0 ].getNullable( null ), is( Nullable.NO_NULLS ) );
+        assertThat( columns[ 1 ].getDefaultValue( null ), is( "0" ) );
+        assertThat( columns[ 2 ].getName( null ), is( "c3" ) );
+        assertThat( columns[ 2 ].getDatatypeName( null ), is( RelationalConstants.DEFAULT_DATATYPE_NAME ) );
+    }
+
     @Test
     public void shouldAddForeignKey() throws Exception {
         final Table refTable = RelationalModelFactory.createTable(null, _repo, mock(Model.class), "refTable");
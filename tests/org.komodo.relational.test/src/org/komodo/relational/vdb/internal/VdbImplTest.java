@@ -14,6 +14,7 @@ import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Properties;
 
 import org.junit.Before;
@@ -191,6 +192,43 @@ public final class VdbImplTest extends RelationalModelTest {
         assertThat(manifest.isEmpty(), is(false));
     }
 
+    @Test
+    public void shouldExportChangedVdbAfterPreviousExport() throws Exception {
+        final String manifest = this.vdb.export(null, new Properties());
+        assertThat(this.vdb.export(null, new Properties()), is(manifest));
+
+        { // change
+            final UnitOfWork transaction = _repo.createTransaction(this.name.getMethodName(), false, null);
+            this.vdb.setDescription(transaction, "Exports should not be stale");
+            transaction.commit();
+        }
+
+        final String changed = this.vdb.export(null, new Properties());
+        assertThat(changed.equals(manifest), is(false));
+        assertThat(changed.contains("Exports should not be stale"), is(true));
+        assertThat(this.vdb.export(null, new Properties()), is(changed));
+    }
+
+    @Test
+    public void shouldExportVdbToStream() throws Exception {
+        { // setup
+            final UnitOfWork transaction = _repo.createTransaction(this.name.getMethodName(), false, null);
+            this.vdb.setVdbName(transaction, "twitter");
+            this.vdb.setDescription(transaction, "Shows how to call Web Services");
+
+            final Model twitter = this.vdb.addModel(transaction, "twitter");
+            twitter.setModelType(transaction, Model.Type.PHYSICAL);
+            twitter.setModelDefinition(transaction, "CREATE FOREIGN TABLE Tweet (id string);");
+
+            transaction.commit();
+        }
+
+        // test
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        this.vdb.export(null, stream, new Properties());
+        assertThat(new String(stream.toByteArray(), "UTF-8"), is(this.vdb.export(null, new Properties())));
+    }
+
     @Test
     public void shouldFailConstructionIfNotVdb() {
         if (RelationalObjectImpl.VALIDATE_INITIAL_STATE) {
@@ -7,7 +7,7 @@ import org.junit.runners.Suite;
  * All Tests for CommandLine
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ CdCommandTest.class, ListCommandTest.class, StatusCommandTest.class, CreateCommandTest.class, DeleteCommandTest.class, })
+@Suite.SuiteClasses({ CdCommandTest.class, ListCommandTest.class, StatusCommandTest.class, CreateCommandTest.class, DeleteCommandTest.class, PlayCommandTest.class, })
 public class AllTests {
     // nothing to do
 }
@@ -16,8 +16,18 @@
 package org.komodo.shell;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
+import org.komodo.core.KomodoLexicon;
+import org.komodo.shell.api.WorkspaceContext;
 import org.komodo.shell.commands.core.CdCommand;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWorkListener;
 
 /**
  * Test Class to test CdCommand
@@ -45,5 +55,83 @@ public class CdCommandTest extends AbstractCommandTest {
     	// Check WorkspaceContext
     	assertEquals("tko:komodo/tko:workspace/MyVdb/MyModel", wsStatus.getCurrentContext().getFullName()); //$NON-NLS-1$
     }
+
+    @Test
+    public void testChildrenReloadedAfterCommit() throws Exception {
+    	setup(CD_COMMAND2, CdCommand.class);
+
+    	execute();
+
+    	WorkspaceContext modelContext = wsStatus.getCurrentContext();
+    	assertNull(modelContext.getChild("MyTable")); //$NON-NLS-1$
+    	long changeCount = wsStatus.getChangeCount();
+
+    	final CountDownLatch latch = new CountDownLatch(1);
+    	UnitOfWork uow = _repo.createTransaction("testChildrenReloadedAfterCommit", false, new UnitOfWorkListener() { //$NON-NLS-1$
+
+    	    @Override
+    	    public void respond(Object results) {
+    	        latch.countDown();
+    	    }
+
+    	    @Override
+    	    public void errorOccurred(Throwable error) {
+    	        latch.countDown();
+    	    }
+    	});
+    	modelContext.getKomodoObj().addChild(uow, "MyTable", null); //$NON-NLS-1$
+    	uow.commit();
+    	assertTrue(latch.await(1, TimeUnit.MINUTES));
+
+    	// the snapshot of the model's children is replaced once the commit is observed
+    	assertTrue(wsStatus.getChangeCount() > changeCount);
+    	assertNotNull(modelContext.getChild("mytable")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testChildrenReloadedWhenSequencingSavesNoOutput() throws Exception {
+    	setup(CD_COMMAND2, CdCommand.class);
+
+    	execute();
+
+    	WorkspaceContext modelContext = wsStatus.getCurrentContext();
+    	final CountDownLatch latch = new CountDownLatch(1);
+    	UnitOfWork uow = _repo.createTransaction("testChildrenReloadedWhenSequencingSavesNoOutput", false, new UnitOfWorkListener() { //$NON-NLS-1$
+
+    	    @Override
+    	    public void respond(Object results) {
+    	        latch.countDown();
+    	    }
+
+    	    @Override
+    	    public void errorOccurred(Throwable error) {
+    	        latch.countDown();
+    	    }
+    	});
+
+    	// the DDL sequencer produces no output for an empty model definition
+    	modelContext.getKomodoObj().setProperty(uow, KomodoLexicon.VdbModel.MODEL_DEFINITION, " "); //$NON-NLS-1$
+    	uow.commit();
+    	assertTrue(latch.await(1, TimeUnit.MINUTES));
+
+    	// a snapshot taken after the commit but before sequencing finished
+    	modelContext.getChildren();
+    	long changeCount = wsStatus.getChangeCount();
+
+    	try {
+    	    uow.getSequencingFuture().get(1, TimeUnit.MINUTES);
+    	} catch (ExecutionException e) {
+    	    // sequencing failed, which must still be observed
+    	}
+
+    	// the change count moves on once sequencing has finished so the snapshot is reloaded
+    	long end = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+    	while (wsStatus.getChangeCount() == changeCount && System.currentTimeMillis() < end) {
+    	    Thread.sleep(10);
+    	}
+
+    	assertTrue(wsStatus.getChangeCount() > changeCount);
+    	assertNotNull(modelContext.getChildren());
+    }
     
 }
@@ -0,0 +1,49 @@
+package org.komodo.shell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.komodo.shell.commands.core.PlayCommand;
+
+/**
+ * Test Class to test PlayCommand
+ *
+ */
+@SuppressWarnings("javadoc")
+public class PlayCommandTest extends AbstractCommandTest {
+
+	private static final String PLAY_COMMAND_1 = "playCommand1.txt"; //$NON-NLS-1$
+	private static final String PLAY_COMMAND_2 = "playCommand2.txt"; //$NON-NLS-1$
+
+	/**
+	 * Test for PlayCommand
+	 */
+	public PlayCommandTest( ) {
+		super();
+	}
+
+    @Test
+    public void testPlayBatchWithCheckpoints() throws Exception {
+    	setup(PLAY_COMMAND_1, PlayCommand.class);
+
+    	execute();
+
+    	assertEquals("tko:komodo/tko:workspace/vdb_test_1/model_1/table_1", wsStatus.getCurrentContext().getFullName()); //$NON-NLS-1$
+    	assertNull(wsStatus.getTransaction());
+    	assertNotNull(_repo.getFromWorkspace(null, "vdb_test_1/model_1/table_1")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testPlayBatch() throws Exception {
+    	setup(PLAY_COMMAND_2, PlayCommand.class);
+
+    	execute();
+
+    	assertEquals("tko:komodo/tko:workspace/vdb_test_1/model_1/table_1", wsStatus.getCurrentContext().getFullName()); //$NON-NLS-1$
+    	assertNull(wsStatus.getTransaction());
+    	assertNotNull(_repo.getFromWorkspace(null, "vdb_test_1/model_1/table_1")); //$NON-NLS-1$
+    }
+
+}
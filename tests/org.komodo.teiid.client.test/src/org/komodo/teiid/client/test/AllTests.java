@@ -23,7 +23,9 @@ package org.komodo.teiid.client.test;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import org.teiid.client.batch.TestColumnarBatch;
 import org.teiid.language.TestReservedWords;
+import org.teiid.net.socket.TestNioObjectChannelFactory;
 import org.teiid.query.resolver.v7.Test7AccessPattern;
 import org.teiid.query.resolver.v7.Test7AlterResolving;
 import org.teiid.query.resolver.v7.Test7FunctionResolving;
@@ -107,6 +109,10 @@ import org.teiid.types.Test8DataTypeManagerService;
 @SuppressWarnings( "javadoc" )
 @RunWith( Suite.class )
 @Suite.SuiteClasses( {
+                                        // client
+                                        TestColumnarBatch.class,
+                                        TestNioObjectChannelFactory.class,
+
                                         // language
                                         TestReservedWords.class,
 
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.client.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
+import org.teiid.client.BatchSerializer;
+import org.teiid.client.batch.ColumnarBatch.Storage;
+import org.teiid.core.types.BinaryTypeImpl;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestColumnarBatch {
+
+    private static final String[] TYPES = {"integer", "long", "double", "boolean", "string", "varbinary", "date", "null"};
+
+    private List<List<?>> createBatch(int rows) {
+        List<List<?>> batch = new ArrayList<List<?>>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(Arrays.asList(i % 5 == 0 ? null : i,
+                                    i % 7 == 0 ? null : Long.MAX_VALUE - i,
+                                    i % 3 == 0 ? null : i / 3.0,
+                                    i % 4 == 0 ? null : i % 3 == 0,
+                                    i % 6 == 0 ? null : "string value " + (i % 4),
+                                    i % 2 == 0 ? null : new BinaryTypeImpl(new byte[] {(byte)i, (byte)(i + 1)}),
+                                    i % 9 == 0 ? null : new Date(86400000L * i),
+                                    null));
+        }
+        return batch;
+    }
+
+    private List<List<Object>> roundTrip(List<List<?>> batch, boolean columnar) throws Exception {
+        BatchSerializer serializer = BatchSerializer.getInstance(Version.TEIID_8_7.get());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        serializer.writeBatch(out, TYPES, batch);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return serializer.readBatch(in, TYPES, columnar);
+    }
+
+    @Test
+    public void testColumnarMatchesRows() throws Exception {
+        List<List<?>> batch = createBatch(37);
+
+        List<List<Object>> rows = roundTrip(batch, false);
+        List<List<Object>> columns = roundTrip(batch, true);
+
+        assertTrue(columns instanceof ColumnarBatch);
+        assertEquals(batch, rows);
+        assertEquals(rows, columns);
+    }
+
+    @Test
+    public void testPrimitiveAccess() throws Exception {
+        List<List<?>> batch = createBatch(20);
+        ColumnarBatch columns = (ColumnarBatch)roundTrip(batch, true);
+
+        assertEquals(Storage.INT, columns.getStorage(0));
+        assertEquals(Storage.LONG, columns.getStorage(1));
+        assertEquals(Storage.DOUBLE, columns.getStorage(2));
+        assertEquals(Storage.BOOLEAN, columns.getStorage(3));
+        assertEquals(Storage.OBJECT, columns.getStorage(4));
+        assertEquals(Storage.BINARY, columns.getStorage(5));
+
+        for (int i = 0; i < batch.size(); i++) {
+            List<?> row = batch.get(i);
+            assertEquals(row.get(0) == null, columns.isNull(0, i));
+            assertEquals(row.get(0) == null ? 0 : row.get(0), columns.getInt(0, i));
+            assertEquals(row.get(1) == null ? 0L : row.get(1), columns.getLong(1, i));
+            assertEquals(row.get(2) == null ? 0d : (Double)row.get(2), columns.getDouble(2, i), 0);
+            assertEquals(row.get(3) == null ? false : row.get(3), columns.getBoolean(3, i));
+            if (row.get(5) == null) {
+                assertNull(columns.getBytes(5, i));
+            } else {
+                assertTrue(Arrays.equals(((BinaryTypeImpl)row.get(5)).getBytes(), columns.getBytes(5, i)));
+            }
+            assertTrue(columns.isNull(7, i));
+        }
+        assertFalse(columns.get(1).equals(columns.get(2)));
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+        List<List<Object>> result = roundTrip(new ArrayList<List<?>>(), true);
+
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.net.socket;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.DataOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teiid.core.util.AccessibleBufferedInputStream;
+import org.teiid.net.HostInfo;
+import org.teiid.netty.handler.codec.serialization.ObjectDecoderInputStream;
+import org.teiid.netty.handler.codec.serialization.ObjectEncoderOutputStream;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestNioObjectChannelFactory {
+
+    /*
+     * Small socket buffers so that unsent bytes stay queued in the channel
+     */
+    private static final int SOCKET_BUFFER_SIZE = 8192;
+
+    /*
+     * Larger than the bytes a channel buffers before writers have to wait
+     */
+    private static final int LARGE_OBJECT_SIZE = 1 << 24;
+
+    private ServerSocket serverSocket;
+    private Socket socket;
+    private NioObjectChannelFactory factory;
+    private ObjectChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket();
+        serverSocket.setReceiveBufferSize(SOCKET_BUFFER_SIZE);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        factory = new NioObjectChannelFactory(new Properties());
+        factory.setSendBufferSize(SOCKET_BUFFER_SIZE);
+        factory.setIoThreads(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (channel != null)
+            channel.close();
+        if (socket != null)
+            socket.close();
+        serverSocket.close();
+    }
+
+    private void connect() throws Exception {
+        channel = factory.createObjectChannel(serverSocket.getLocalSocketAddress(), false);
+        socket = serverSocket.accept();
+    }
+
+    private ObjectInputStream serverInput() throws Exception {
+        return new ObjectDecoderInputStream(new AccessibleBufferedInputStream(socket.getInputStream(), 1024),
+                                            getClass().getClassLoader(),
+                                            LARGE_OBJECT_SIZE * 2);
+    }
+
+    private ObjectOutputStream serverOutput() throws Exception {
+        return new ObjectEncoderOutputStream(new DataOutputStream(socket.getOutputStream()), 1024);
+    }
+
+    private byte[] createLargeObject() {
+        byte[] bytes = new byte[LARGE_OBJECT_SIZE];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)i;
+        }
+        return bytes;
+    }
+
+    @Test( timeout = 30000 )
+    public void testRoundTrip() throws Exception {
+        connect();
+
+        channel.write("request").get(10, TimeUnit.SECONDS);
+        assertEquals("request", serverInput().readObject());
+
+        ObjectOutputStream out = serverOutput();
+        out.writeObject("response");
+        out.flush();
+        assertEquals("response", channel.read());
+    }
+
+    @Test( timeout = 30000 )
+    public void testReadTimeout() throws Exception {
+        factory.setSoTimeout(200);
+        connect();
+
+        try {
+            channel.read();
+            fail("expected the read to time out");
+        } catch (SocketTimeoutException e) {
+            // expected
+        }
+
+        // a timeout does not close the channel
+        assertTrue(channel.isOpen());
+        ObjectOutputStream out = serverOutput();
+        out.writeObject("late");
+        out.flush();
+        assertEquals("late", channel.read());
+    }
+
+    @Test( timeout = 60000 )
+    public void testWriterWaitsWhileTooManyBytesAreBuffered() throws Exception {
+        connect();
+
+        final byte[] large = createLargeObject();
+        final AtomicReference<Future<?>> written = new AtomicReference<Future<?>>();
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                written.set(channel.write(large));
+            }
+        };
+        writer.start();
+
+        // nothing is read so the writer has to wait for the buffered bytes to be sent
+        writer.join(1000);
+        assertTrue(writer.isAlive());
+        assertNull(written.get());
+
+        assertArrayEquals(large, (byte[])serverInput().readObject());
+        writer.join();
+        written.get().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test( timeout = 30000 )
+    public void testCloseFailsPendingWrites() throws Exception {
+        connect();
+
+        // fits in the channel's buffers, but cannot be sent while nothing is read
+        Future<?> pending = channel.write(new byte[1 << 21]);
+        Thread.sleep(500);
+        assertFalse(pending.isDone());
+
+        channel.close();
+        try {
+            pending.get(10, TimeUnit.SECONDS);
+            fail("expected the pending write to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ClosedChannelException);
+        }
+
+        try {
+            channel.write("after close").get(10, TimeUnit.SECONDS);
+            fail("expected the write to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ClosedChannelException);
+        }
+    }
+
+    @Test
+    public void testNioHostInfoIsNotEqualToOioHostInfo() {
+        HostInfo oio = new HostInfo("localhost", 31000);
+        HostInfo nio = new HostInfo("localhost", 31000);
+        nio.setNio(true);
+        assertFalse(oio.equals(nio));
+        assertFalse(nio.equals(oio));
+
+        // instances are pooled by host info, so the same host and port is pooled separately for each channel factory
+        HostInfo otherNio = new HostInfo("localhost", 31000);
+        otherNio.setNio(true);
+        assertEquals(nio, otherNio);
+        assertEquals(nio.hashCode(), otherNio.hashCode());
+    }
+}